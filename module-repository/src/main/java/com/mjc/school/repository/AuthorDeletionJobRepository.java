@@ -0,0 +1,25 @@
+package com.mjc.school.repository;
+
+import com.mjc.school.repository.entity.AuthorDeletionJobEntity;
+import com.mjc.school.repository.entity.DeletionJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AuthorDeletionJobRepository {
+
+    AuthorDeletionJobEntity create(AuthorDeletionJobEntity job);
+
+    Optional<AuthorDeletionJobEntity> getById(Long id);
+
+    Optional<AuthorDeletionJobEntity> getUnfinishedByAuthorId(Long authorId);
+
+    List<AuthorDeletionJobEntity> getAllUnfinished();
+
+    boolean claim(Long id, LocalDateTime staleBefore);
+
+    void updateStatus(Long id, DeletionJobStatus status, String error);
+
+    void addPurgedNews(Long id, long count);
+}
@@ -2,11 +2,15 @@ package com.mjc.school.repository;
 
 import com.mjc.school.repository.dto.AuthorWithNews;
 import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.query.AuthorNewsCountCursor;
 import com.mjc.school.repository.query.AuthorRepositorySearchParams;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface AuthorRepository extends BaseRepository<AuthorEntity, Long, AuthorRepositorySearchParams> {
 
@@ -14,7 +18,21 @@ public interface AuthorRepository extends BaseRepository<AuthorEntity, Long, Aut
 
     Optional<AuthorEntity> getByName(String name);
 
+    List<AuthorEntity> getAllByName(Collection<String> names);
+
+    List<AuthorEntity> getOrCreateAll(Collection<String> names);
+
     Optional<AuthorEntity> getByNewsId(Long id);
 
     Page<AuthorWithNews> getWithNewsAmount(Pageable pageable);
+
+    List<AuthorWithNews> getWithNewsAmountAfter(AuthorNewsCountCursor cursor, int limit);
+
+    boolean markForDeletion(Long id);
+
+    Set<Long> lockAndGetMarkedForDeletion(Collection<Long> ids);
+
+    boolean deleteIfHasNoNews(Long id);
+
+    long getNewsAmount(Long id);
 }
@@ -1,22 +1,39 @@
 package com.mjc.school.repository;
 
+import com.mjc.school.repository.dto.EntityVersion;
 import com.mjc.school.repository.entity.BaseEntity;
+import com.mjc.school.repository.query.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BaseRepository<T extends BaseEntity<K>, K, P> {
 
     Page<T> getAll(Pageable pageable, P searchParam);
 
+    Slice<T> getAll(Pageable pageable, P searchParam, CountMode countMode);
+
     Optional<T> getById(K id);
 
+    Optional<EntityVersion> getVersionById(K id);
+
+    List<T> getAllById(Collection<K> ids);
+
     T create(T entity);
 
+    List<T> createAll(Collection<T> entities);
+
     T update(T entity);
 
     boolean deleteById(K id);
 
     boolean existById(K id);
+
+    boolean existAllById(Collection<K> ids);
+
+    void detachAll();
 }
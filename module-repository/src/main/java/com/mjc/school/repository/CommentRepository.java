@@ -3,9 +3,16 @@ package com.mjc.school.repository;
 import com.mjc.school.repository.entity.CommentEntity;
 import com.mjc.school.repository.query.CommentRepositorySearchParams;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface CommentRepository extends BaseRepository<CommentEntity, Long, CommentRepositorySearchParams> {
 
     List<CommentEntity> getByNewsId(Long id);
+
+    Map<Long, List<CommentEntity>> getByNewsIds(Collection<Long> ids);
+
+    Optional<Long> getNewsIdById(Long id);
 }
\ No newline at end of file
@@ -1,9 +1,34 @@
 package com.mjc.school.repository;
 
 import com.mjc.school.repository.entity.NewsEntity;
+import com.mjc.school.repository.query.NewsKeysetCursor;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface NewsRepository extends BaseRepository<NewsEntity, Long, NewsRepositorySearchParams> {
 
     boolean existByTitle(String title);
-}
\ No newline at end of file
+
+    Set<String> getExistingTitles(Collection<String> titles);
+
+    Optional<NewsEntity> getByIdWithAuthorAndTags(Long id);
+
+    List<NewsEntity> getAllAfter(NewsKeysetCursor cursor, int limit, NewsRepositorySearchParams params);
+
+    Page<NewsEntity> search(String query, Pageable pageable);
+
+    void scrollAll(Consumer<NewsEntity> action);
+
+    List<Long> getIdsByAuthorId(Long authorId);
+
+    List<Long> deleteChunkByAuthorId(Long authorId, int limit);
+
+    List<Long> deleteAllByAuthorId(Long authorId);
+}
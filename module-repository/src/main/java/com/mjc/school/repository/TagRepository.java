@@ -3,8 +3,11 @@ package com.mjc.school.repository;
 import com.mjc.school.repository.entity.TagEntity;
 import com.mjc.school.repository.query.TagRepositorySearchParams;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TagRepository extends BaseRepository<TagEntity, Long, TagRepositorySearchParams> {
 
@@ -13,4 +16,12 @@ public interface TagRepository extends BaseRepository<TagEntity, Long, TagReposi
     Optional<TagEntity> getByName(String name);
 
     List<TagEntity> getByNewsId(Long id);
+
+    Map<Long, List<TagEntity>> getByNewsIds(Collection<Long> ids);
+
+    List<TagEntity> getAllByName(Collection<String> names);
+
+    List<TagEntity> getOrCreateAll(Collection<String> names);
+
+    Set<Long> findMissingIds(Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package com.mjc.school.repository.dto;
+
+import java.time.LocalDateTime;
+
+public record EntityVersion(
+        Long version,
+        LocalDateTime lastUpdateDate,
+        Long counter) {
+}
@@ -0,0 +1,108 @@
+package com.mjc.school.repository.entity;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "author_deletion_jobs")
+@EntityListeners(AuditingEntityListener.class)
+public class AuthorDeletionJobEntity implements BaseEntity<Long> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_deletion_jobs_id_generator")
+    @GenericGenerator(name = "author_deletion_jobs_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "author_deletion_jobs_id_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")})
+    private Long id;
+
+    @Column(name = "author_id", updatable = false)
+    private Long authorId;
+
+    @Enumerated(EnumType.STRING)
+    private DeletionJobStatus status;
+
+    @Column(name = "total_news", updatable = false)
+    private long totalNews;
+
+    @Column(name = "purged_news")
+    private long purgedNews;
+
+    private String error;
+
+    @Column(name = "creation_date", updatable = false)
+    @CreatedDate
+    private LocalDateTime creationDate;
+
+    @Column(name = "last_update_date")
+    @LastModifiedDate
+    private LocalDateTime lastUpdateDate;
+
+    public AuthorDeletionJobEntity(Long authorId, long totalNews) {
+        this.authorId = authorId;
+        this.totalNews = totalNews;
+        this.status = DeletionJobStatus.PENDING;
+    }
+
+    public AuthorDeletionJobEntity() {
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public DeletionJobStatus getStatus() {
+        return status;
+    }
+
+    public long getTotalNews() {
+        return totalNews;
+    }
+
+    public long getPurgedNews() {
+        return purgedNews;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public LocalDateTime getLastUpdateDate() {
+        return lastUpdateDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuthorDeletionJobEntity that = (AuthorDeletionJobEntity) o;
+        return Objects.equals(id, that.id) && Objects.equals(authorId, that.authorId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, authorId);
+    }
+}
@@ -1,5 +1,13 @@
 package com.mjc.school.repository.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,14 +19,28 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AuthorEntity.CACHE_REGION)
 @Table(name = "authors")
 @EntityListeners(AuditingEntityListener.class)
+@BatchSize(size = 50)
 public class AuthorEntity implements BaseEntity<Long> {
 
+    public static final String CACHE_REGION = "authors";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_id_generator")
+    @GenericGenerator(name = "authors_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "authors_id_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
+    @Version
+    private Long version;
+
     private String name;
 
     @Column(name = "creation_date", updatable = false)
@@ -29,7 +51,11 @@ public class AuthorEntity implements BaseEntity<Long> {
     @LastModifiedDate
     private LocalDateTime lastUpdateDate;
 
-    @OneToMany(cascade = CascadeType.REMOVE, mappedBy = "author", fetch = FetchType.LAZY)
+    @Column(name = "deletion_requested", insertable = false, updatable = false)
+    private boolean deletionRequested;
+
+    @OneToMany(mappedBy = "author", fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private List<NewsEntity> news = new ArrayList<>();
 
     public AuthorEntity(Long id, String name, LocalDateTime creationDate, LocalDateTime lastUpdateDate) {
@@ -52,6 +78,14 @@ public class AuthorEntity implements BaseEntity<Long> {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
@@ -76,6 +110,10 @@ public class AuthorEntity implements BaseEntity<Long> {
         this.name = name;
     }
 
+    public boolean isDeletionRequested() {
+        return deletionRequested;
+    }
+
     public List<NewsEntity> getNews() {
         return news;
     }
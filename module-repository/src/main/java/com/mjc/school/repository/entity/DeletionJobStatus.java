@@ -0,0 +1,8 @@
+package com.mjc.school.repository.entity;
+
+public enum DeletionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,5 +1,11 @@
 package com.mjc.school.repository.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,14 +17,30 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@DynamicUpdate
 @Table(name = "news")
 @EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraph(name = NewsEntity.WITH_AUTHOR_AND_TAGS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("tags")
+})
+@BatchSize(size = 50)
 public class NewsEntity implements BaseEntity<Long> {
 
+    public static final String WITH_AUTHOR_AND_TAGS_GRAPH = "news-with-author-and-tags";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_id_generator")
+    @GenericGenerator(name = "news_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "news_id_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
 
+    @Version
+    private Long version;
+
     private String title;
 
     @Column
@@ -32,18 +54,24 @@ public class NewsEntity implements BaseEntity<Long> {
     @LastModifiedDate
     private LocalDateTime lastUpdateDate;
 
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private long commentCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private AuthorEntity author;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "news_tags",
             joinColumns = @JoinColumn(name = "news_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id"))
     private List<TagEntity> tags = new ArrayList<>();
 
-    @OneToMany(cascade = CascadeType.REMOVE, mappedBy = "news", fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "news", fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @BatchSize(size = 50)
     private List<CommentEntity> comments = new ArrayList<>();
 
     public static Builder newBuilder() {
@@ -60,6 +88,14 @@ public class NewsEntity implements BaseEntity<Long> {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<CommentEntity> getComments() {
         return comments;
     }
@@ -100,6 +136,10 @@ public class NewsEntity implements BaseEntity<Long> {
         this.lastUpdateDate = lastUpdateDate;
     }
 
+    public long getCommentCount() {
+        return commentCount;
+    }
+
     public AuthorEntity getAuthor() {
         return author;
     }
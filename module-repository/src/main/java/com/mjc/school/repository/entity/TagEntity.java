@@ -1,5 +1,11 @@
 package com.mjc.school.repository.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -7,15 +13,30 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TagEntity.CACHE_REGION)
 @Table(name = "tags")
+@BatchSize(size = 50)
 public class TagEntity implements BaseEntity<Long> {
 
+    public static final String CACHE_REGION = "tags";
+
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     List<NewsEntity> news = new ArrayList<>();
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tags_id_generator")
+    @GenericGenerator(name = "tags_id_generator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "tags_id_seq"),
+                    @Parameter(name = "increment_size", value = "50"),
+                    @Parameter(name = "optimizer", value = "pooled-lo")})
     private Long id;
+    @Version
+    private Long version;
     private String name;
+    @Column(name = "news_count", insertable = false, updatable = false)
+    private long newsCount;
 
     public TagEntity(Long id, String name) {
         this.id = id;
@@ -36,10 +57,22 @@ public class TagEntity implements BaseEntity<Long> {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
 
+    public long getNewsCount() {
+        return newsCount;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
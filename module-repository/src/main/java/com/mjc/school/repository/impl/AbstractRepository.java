@@ -1,23 +1,44 @@
 package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.BaseRepository;
+import com.mjc.school.repository.dto.EntityVersion;
 import com.mjc.school.repository.entity.BaseEntity;
+import com.mjc.school.repository.query.CountMode;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Table;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
 import java.lang.reflect.ParameterizedType;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractRepository<T extends BaseEntity<K>, K, P> implements BaseRepository<T, K, P> {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final String VERSION = "version";
+    private static final String LAST_UPDATE_DATE = "lastUpdateDate";
+
     private final Class<T> entityClass;
 
     @PersistenceContext
@@ -30,57 +51,241 @@ public abstract class AbstractRepository<T extends BaseEntity<K>, K, P> implemen
 
     protected abstract void setFields(T toUpdate, T updateBy);
 
-    public abstract Page<T> getAll(Pageable pageable, P params);
+    protected Predicate visibilityRestriction(CriteriaBuilder builder, AbstractQuery<?> query, Root<T> root) {
+        return null;
+    }
+
+    // a trigger-maintained column that changes the representation without bumping @Version
+    protected String counterAttribute() {
+        return null;
+    }
+
+    public abstract Slice<T> getAll(Pageable pageable, P params, CountMode countMode);
+
+    @Override
+    public Page<T> getAll(Pageable pageable, P params) {
+        return (Page<T>) getAll(pageable, params, CountMode.EXACT);
+    }
 
     @Override
     public Optional<T> getById(K id) {
         return Optional.ofNullable(entityManager.find(entityClass, id));
     }
 
+    @Override
+    public Optional<EntityVersion> getVersionById(K id) {
+        boolean timestamped = entityManager.getMetamodel().entity(entityClass).getAttributes().stream()
+                .anyMatch(attribute -> attribute.getName().equals(LAST_UPDATE_DATE));
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(List.of(root.get(VERSION).alias(VERSION)));
+        if (timestamped) {
+            selections.add(root.get(LAST_UPDATE_DATE).alias(LAST_UPDATE_DATE));
+        }
+        String counter = counterAttribute();
+        if (counter != null) {
+            selections.add(root.get(counter).alias(counter));
+        }
+        Predicate visible = visibilityRestriction(builder, query, root);
+        query.multiselect(selections).where(visible == null
+                ? builder.equal(root.get("id"), id)
+                : builder.and(builder.equal(root.get("id"), id), visible));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(row -> new EntityVersion(row.get(VERSION, Long.class),
+                        timestamped ? row.get(LAST_UPDATE_DATE, LocalDateTime.class) : null,
+                        counter == null ? null : row.get(counter, Long.class)));
+    }
+
+    @Override
+    public List<T> getAllById(Collection<K> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root).where(root.get("id").in(ids));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
     @Override
     public T create(T entity) {
         entityManager.persist(entity);
         return entity;
     }
 
+    @Override
+    public List<T> createAll(Collection<T> entities) {
+        entities.forEach(entityManager::persist);
+        return new ArrayList<>(entities);
+    }
+
     @Override
     public T update(T entity) {
-        T entityToUpdate = entityManager.find(entityClass, entity.getId());
+        T entityToUpdate = entityManager.getReference(entityClass, entity.getId());
         setFields(entityToUpdate, entity);
+        // callers map the result right away, so @Version and @LastModifiedDate have to be applied first
         entityManager.flush();
         return entityToUpdate;
     }
 
     @Override
     public boolean deleteById(K id) {
-        return getById(id).map(entity -> {
-            entityManager.remove(entity);
-            return true;
-        }).orElse(false);
+        return entityManager
+                .createQuery("DELETE FROM " + entityName() + " e WHERE e.id = :id")
+                .setParameter("id", id)
+                .executeUpdate() > 0;
     }
 
     @Override
     public boolean existById(K id) {
-        return getById(id).isPresent();
+        return !entityManager
+                .createQuery("SELECT 1 FROM " + entityName() + " e WHERE e.id = :id")
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList().isEmpty();
     }
 
-    protected Page<T> getFilteredEntity(final CriteriaBuilder criteriaBuilder, final CriteriaQuery<T> criteriaQuery,
-                                        final Root<T> root, Pageable pageable) {
+    @Override
+    public boolean existAllById(Collection<K> ids) {
+        Set<K> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            return true;
+        }
+        long found = entityManager
+                .createQuery("SELECT COUNT(e) FROM " + entityName() + " e WHERE e.id IN :ids", Long.class)
+                .setParameter("ids", distinctIds)
+                .getSingleResult();
+        return found == distinctIds.size();
+    }
+
+    @Override
+    public void detachAll() {
+        entityManager.clear();
+    }
+
+    protected void evictAfterCommit(Class<?> cachedClass, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        Set<?> distinctIds = new HashSet<>(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            distinctIds.forEach(id -> cache.evict(cachedClass, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                distinctIds.forEach(id -> cache.evict(cachedClass, id));
+            }
+        });
+    }
+
+    private String entityName() {
+        return entityManager.getMetamodel().entity(entityClass).getName();
+    }
+
+    protected List<T> getAllByLowerName(Collection<String> lowerNames) {
+        if (lowerNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+        query.select(root).where(builder.lower(root.get("name")).in(lowerNames));
+
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .getResultList();
+    }
+
+    protected List<T> getOrCreateAllByName(Collection<String> names, Function<T, String> nameOf,
+                                           String insertQuery, String valueTemplate) {
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        names.forEach(name -> namesByKey.putIfAbsent(name.toLowerCase(), name));
+
+        Map<String, T> entitiesByKey = new HashMap<>();
+        getAllByLowerName(namesByKey.keySet()).forEach(entity -> entitiesByKey.put(nameOf.apply(entity).toLowerCase(), entity));
+
+        List<String> missing = namesByKey.keySet().stream().filter(key -> !entitiesByKey.containsKey(key)).toList();
+        if (!missing.isEmpty()) {
+            insertIgnoringConflicts(missing.stream().map(namesByKey::get).toList(), insertQuery, valueTemplate);
+            getAllByLowerName(missing).forEach(entity -> entitiesByKey.put(nameOf.apply(entity).toLowerCase(), entity));
+        }
+
+        return namesByKey.keySet().stream().map(entitiesByKey::get).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void insertIgnoringConflicts(List<String> names, String insertQuery, String valueTemplate) {
+        String values = IntStream.range(0, names.size())
+                .mapToObj(i -> format(valueTemplate, ":name" + i))
+                .collect(Collectors.joining(", "));
+        NativeQuery<?> insert = entityManager.createNativeQuery(format(insertQuery, values))
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(entityClass);
+        for (int i = 0; i < names.size(); i++) {
+            insert.setParameter("name" + i, names.get(i));
+        }
+        insert.executeUpdate();
+    }
+
+    protected Predicate containsIgnoreCase(CriteriaBuilder builder, Expression<String> expression, String value) {
+        String escaped = value.toLowerCase()
+                .replace(String.valueOf(LIKE_ESCAPE), LIKE_ESCAPE + String.valueOf(LIKE_ESCAPE))
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return builder.like(builder.lower(expression), "%" + escaped + "%", LIKE_ESCAPE);
+    }
+
+    protected Slice<T> getFilteredEntity(final CriteriaBuilder criteriaBuilder, final CriteriaQuery<T> criteriaQuery,
+                                         final Root<T> root, Pageable pageable, CountMode countMode) {
+
+        // the estimate only holds for the whole table, so it is decided before the visibility restriction is added
+        boolean filtered = criteriaQuery.getRestriction() != null;
+        Predicate visible = visibilityRestriction(criteriaBuilder, criteriaQuery, root);
+        if (visible != null) {
+            criteriaQuery.where(filtered ? criteriaBuilder.and(criteriaQuery.getRestriction(), visible) : visible);
+        }
 
         criteriaQuery.select(root);
         criteriaQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
-        criteriaQuery.distinct(true);
+        criteriaQuery.distinct(!root.getJoins().isEmpty());
 
-        List<T> pageEntities = entityManager.createQuery(criteriaQuery)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
-                .getResultList();
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery)
+                .setFirstResult((int) pageable.getOffset());
 
-        long total = count(criteriaBuilder, criteriaQuery, root);
+        if (countMode == CountMode.SKIP) {
+            List<T> entities = query.setMaxResults(pageable.getPageSize() + 1).getResultList();
+            boolean hasNext = entities.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? entities.subList(0, pageable.getPageSize()) : entities, pageable, hasNext);
+        }
 
-        return new PageImpl<>(pageEntities, pageable, total);
+        List<T> pageEntities = query.setMaxResults(pageable.getPageSize()).getResultList();
+
+        return PageableExecutionUtils.getPage(pageEntities, pageable, () -> countMode == CountMode.ESTIMATED && !filtered
+                ? estimateCount(criteriaBuilder, criteriaQuery, root)
+                : count(criteriaBuilder, criteriaQuery, root));
     }
 
+    private long estimateCount(final CriteriaBuilder builder, final CriteriaQuery<T> selectQuery, Root<T> root) {
+        Table table = entityClass.getAnnotation(Table.class);
+        if (table != null) {
+            List<?> estimate = entityManager
+                    .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = to_regclass(:table)")
+                    .setParameter("table", table.name())
+                    .getResultList();
+            if (!estimate.isEmpty() && estimate.get(0) instanceof Number reltuples && reltuples.longValue() > 0) {
+                return reltuples.longValue();
+            }
+        }
+        return count(builder, selectQuery, root);
+    }
 
     private long count(final CriteriaBuilder builder, final CriteriaQuery<T> selectQuery,
                        Root<T> root) {
@@ -103,7 +308,7 @@ public abstract class AbstractRepository<T extends BaseEntity<K>, K, P> implemen
         }
         countRoot.alias(root.getAlias());
 
-        return countQuery.distinct(true);
+        return countQuery.distinct(!root.getJoins().isEmpty());
     }
 
     @SuppressWarnings("unchecked")
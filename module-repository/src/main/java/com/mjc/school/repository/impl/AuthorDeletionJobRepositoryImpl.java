@@ -0,0 +1,85 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.AuthorDeletionJobRepository;
+import com.mjc.school.repository.entity.AuthorDeletionJobEntity;
+import com.mjc.school.repository.entity.DeletionJobStatus;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class AuthorDeletionJobRepositoryImpl implements AuthorDeletionJobRepository {
+
+    private static final List<DeletionJobStatus> UNFINISHED = List.of(DeletionJobStatus.PENDING, DeletionJobStatus.RUNNING);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public AuthorDeletionJobEntity create(AuthorDeletionJobEntity job) {
+        entityManager.persist(job);
+        return job;
+    }
+
+    @Override
+    public Optional<AuthorDeletionJobEntity> getById(Long id) {
+        return Optional.ofNullable(entityManager.find(AuthorDeletionJobEntity.class, id));
+    }
+
+    @Override
+    public Optional<AuthorDeletionJobEntity> getUnfinishedByAuthorId(Long authorId) {
+        return entityManager
+                .createQuery("SELECT j FROM AuthorDeletionJobEntity j WHERE j.authorId = :authorId AND j.status IN :statuses",
+                        AuthorDeletionJobEntity.class)
+                .setParameter("authorId", authorId)
+                .setParameter("statuses", UNFINISHED)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<AuthorDeletionJobEntity> getAllUnfinished() {
+        return entityManager
+                .createQuery("SELECT j FROM AuthorDeletionJobEntity j WHERE j.status IN :statuses ORDER BY j.id", AuthorDeletionJobEntity.class)
+                .setParameter("statuses", UNFINISHED)
+                .getResultList();
+    }
+
+    @Override
+    public boolean claim(Long id, LocalDateTime staleBefore) {
+        return entityManager
+                .createQuery("UPDATE AuthorDeletionJobEntity j SET j.status = :running, j.lastUpdateDate = CURRENT_TIMESTAMP " +
+                        "WHERE j.id = :id AND (j.status = :pending OR (j.status = :running AND j.lastUpdateDate < :staleBefore))")
+                .setParameter("running", DeletionJobStatus.RUNNING)
+                .setParameter("pending", DeletionJobStatus.PENDING)
+                .setParameter("staleBefore", staleBefore)
+                .setParameter("id", id)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    public void updateStatus(Long id, DeletionJobStatus status, String error) {
+        entityManager
+                .createQuery("UPDATE AuthorDeletionJobEntity j SET j.status = :status, j.error = :error, " +
+                        "j.lastUpdateDate = CURRENT_TIMESTAMP WHERE j.id = :id")
+                .setParameter("status", status)
+                .setParameter("error", error)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    public void addPurgedNews(Long id, long count) {
+        entityManager
+                .createQuery("UPDATE AuthorDeletionJobEntity j SET j.purgedNews = j.purgedNews + :count, " +
+                        "j.lastUpdateDate = CURRENT_TIMESTAMP WHERE j.id = :id")
+                .setParameter("count", count)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+}
@@ -3,52 +3,87 @@ package com.mjc.school.repository.impl;
 import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.dto.AuthorWithNews;
 import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.AuthorNewsCountCursor;
 import com.mjc.school.repository.query.AuthorRepositorySearchParams;
+import com.mjc.school.repository.query.CountMode;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.NoResultException;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 public class AuthorRepositoryImpl extends AbstractRepository<AuthorEntity, Long, AuthorRepositorySearchParams> implements AuthorRepository {
 
+    private static final String WITH_NEWS_AMOUNT_QUERY = """
+            SELECT a.id, a.name, a.news_count FROM authors a
+            WHERE NOT a.deletion_requested
+            ORDER BY a.news_count DESC, a.id DESC""";
+    private static final String WITH_NEWS_AMOUNT_AFTER_QUERY = """
+            SELECT a.id, a.name, a.news_count FROM authors a
+            WHERE NOT a.deletion_requested AND (a.news_count, a.id) < (:newsCount, :id)
+            ORDER BY a.news_count DESC, a.id DESC""";
+
+    private static final String LOCK_FOR_NEWS_QUERY = """
+            SELECT a.id, a.deletion_requested FROM authors a
+            WHERE a.id IN (:ids)
+            ORDER BY a.id
+            FOR SHARE""";
+
     @Override
     protected void setFields(AuthorEntity toUpdate, AuthorEntity updateBy) {
         toUpdate.setName(updateBy.getName());
     }
 
-    public Page<AuthorEntity> getAll(Pageable pageable, AuthorRepositorySearchParams params) {
+    @Override
+    protected Predicate visibilityRestriction(CriteriaBuilder builder, AbstractQuery<?> query, Root<AuthorEntity> root) {
+        return builder.isFalse(root.get("deletionRequested"));
+    }
+
+    public Slice<AuthorEntity> getAll(Pageable pageable, AuthorRepositorySearchParams params, CountMode countMode) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<AuthorEntity> query = builder.createQuery(AuthorEntity.class);
         Root<AuthorEntity> root = query.from(AuthorEntity.class);
 
         if (params.name() != null) {
-            query.where(builder.like(builder.lower(root.get("name")), "%" + params.name().toLowerCase() + "%"));
+            query.where(containsIgnoreCase(builder, root.get("name"), params.name()));
         }
 
-        return getFilteredEntity(builder, query, root, pageable);
+        return getFilteredEntity(builder, query, root, pageable, countMode);
     }
 
     @Override
     public boolean existByName(String name) {
-        return entityManager
-                .createQuery("SELECT CASE WHEN count(a)>0 THEN true ELSE false END FROM AuthorEntity a WHERE lower(name)=:name", Boolean.class)
-                .setParameter("name", name.toLowerCase()).getSingleResult();
+        return !entityManager
+                .createQuery("SELECT 1 FROM AuthorEntity a WHERE lower(a.name)=:name")
+                .setParameter("name", name.toLowerCase())
+                .setMaxResults(1)
+                .getResultList().isEmpty();
     }
 
     @Override
     public Optional<AuthorEntity> getByName(String name) {
         TypedQuery<AuthorEntity> query = entityManager
-                .createQuery("SELECT a FROM AuthorEntity a where lower(name)=:name", AuthorEntity.class)
-                .setParameter("name", name.toLowerCase());
+                .createQuery("SELECT a FROM AuthorEntity a where lower(a.name)=:name", AuthorEntity.class)
+                .setParameter("name", name.toLowerCase())
+                .setHint(QueryHints.HINT_CACHEABLE, true);
         try {
             return Optional.of(query.getSingleResult());
         } catch (NoResultException e) {
@@ -56,27 +91,95 @@ public class AuthorRepositoryImpl extends AbstractRepository<AuthorEntity, Long,
         }
     }
 
+    @Override
+    public List<AuthorEntity> getAllByName(Collection<String> names) {
+        return getAllByLowerName(names.stream().map(String::toLowerCase).distinct().toList());
+    }
+
+    @Override
+    public List<AuthorEntity> getOrCreateAll(Collection<String> names) {
+        return getOrCreateAllByName(names, AuthorEntity::getName,
+                "INSERT INTO authors (name, creation_date, last_update_date) VALUES %s " +
+                        "ON CONFLICT (lower(name)) DO NOTHING",
+                "(%s, localtimestamp, localtimestamp)");
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        // news is removed by ON DELETE CASCADE, which changes tags.news_count behind the tag cache
+        evictAfterCommit(TagEntity.class, entityManager
+                .createQuery("SELECT DISTINCT t.id FROM NewsEntity n INNER JOIN n.tags t WHERE n.author.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultList());
+        return super.deleteById(id);
+    }
+
     @Override
     public Page<AuthorWithNews> getWithNewsAmount(Pageable pageable) {
-        String sql = "SELECT a.id, a.name, COUNT(n.id) as numberOfNews " +
-                "FROM AuthorEntity a " +
-                "LEFT JOIN a.news n " +
-                "GROUP BY a.id " +
-                "ORDER BY numberOfNews DESC";
-        List<Object[]> list = entityManager.createQuery(sql, Object[].class)
+        Query query = entityManager.createNativeQuery(WITH_NEWS_AMOUNT_QUERY)
                 .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
+                .setMaxResults(pageable.getPageSize());
+        List<AuthorWithNews> content = toAuthorsWithNews(query);
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> entityManager.createQuery("SELECT COUNT(*) FROM AuthorEntity a WHERE a.deletionRequested = false", Long.class).getSingleResult());
+    }
+
+    @Override
+    public List<AuthorWithNews> getWithNewsAmountAfter(AuthorNewsCountCursor cursor, int limit) {
+        Query query = cursor == null
+                ? entityManager.createNativeQuery(WITH_NEWS_AMOUNT_QUERY)
+                : entityManager.createNativeQuery(WITH_NEWS_AMOUNT_AFTER_QUERY)
+                .setParameter("newsCount", cursor.newsCount())
+                .setParameter("id", cursor.id());
+
+        return toAuthorsWithNews(query.setMaxResults(limit));
+    }
+
+    @Override
+    public boolean markForDeletion(Long id) {
+        return entityManager
+                .createQuery("UPDATE AuthorEntity a SET a.deletionRequested = true WHERE a.id = :id AND a.deletionRequested = false")
+                .setParameter("id", id)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Long> lockAndGetMarkedForDeletion(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        // the share lock makes a concurrent markForDeletion wait until the caller's news are committed
+        List<Object[]> rows = entityManager.createNativeQuery(LOCK_FOR_NEWS_QUERY)
+                .setParameter("ids", new HashSet<>(ids))
                 .getResultList();
-        List<AuthorWithNews> content = list.stream().map(columns -> new AuthorWithNews((Long) columns[0], (String) columns[1], (Long) columns[2])).toList();
-        long total = entityManager.createQuery("SELECT COUNT(*) FROM AuthorEntity", Long.class).getSingleResult();
+        return rows.stream()
+                .filter(columns -> (Boolean) columns[1])
+                .map(columns -> ((Number) columns[0]).longValue())
+                .collect(Collectors.toSet());
+    }
 
-        return new PageImpl<>(content, pageable, total);
+    @Override
+    public boolean deleteIfHasNoNews(Long id) {
+        return entityManager
+                .createQuery("DELETE FROM AuthorEntity a WHERE a.id = :id " +
+                        "AND NOT EXISTS (SELECT n.id FROM NewsEntity n WHERE n.author.id = :id)")
+                .setParameter("id", id)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    public long getNewsAmount(Long id) {
+        return ((Number) entityManager.createNativeQuery("SELECT news_count FROM authors WHERE id = :id")
+                .setParameter("id", id)
+                .getSingleResult()).longValue();
     }
 
     @Override
     public Optional<AuthorEntity> getByNewsId(Long id) {
         TypedQuery<AuthorEntity> query = entityManager
-                .createQuery("SELECT a FROM NewsEntity n INNER JOIN n.author a where n.id=:id", AuthorEntity.class)
+                .createQuery("SELECT a FROM NewsEntity n INNER JOIN n.author a where n.id=:id AND a.deletionRequested = false", AuthorEntity.class)
                 .setParameter("id", id);
         try {
             return Optional.of(query.getSingleResult());
@@ -85,4 +188,13 @@ public class AuthorRepositoryImpl extends AbstractRepository<AuthorEntity, Long,
         }
 
     }
+
+    @SuppressWarnings("unchecked")
+    private List<AuthorWithNews> toAuthorsWithNews(Query query) {
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(columns -> new AuthorWithNews(((Number) columns[0]).longValue(), (String) columns[1],
+                        ((Number) columns[2]).longValue()))
+                .toList();
+    }
 }
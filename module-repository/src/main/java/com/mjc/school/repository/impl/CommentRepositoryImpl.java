@@ -3,14 +3,20 @@ package com.mjc.school.repository.impl;
 import com.mjc.school.repository.CommentRepository;
 import com.mjc.school.repository.entity.CommentEntity;
 import com.mjc.school.repository.query.CommentRepositorySearchParams;
-import org.springframework.data.domain.Page;
+import com.mjc.school.repository.query.CountMode;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public class CommentRepositoryImpl extends AbstractRepository<CommentEntity, Long, CommentRepositorySearchParams> implements CommentRepository {
@@ -21,18 +27,16 @@ public class CommentRepositoryImpl extends AbstractRepository<CommentEntity, Lon
     }
 
     @Override
-    public Page<CommentEntity> getAll(Pageable pageable, CommentRepositorySearchParams params) {
+    public Slice<CommentEntity> getAll(Pageable pageable, CommentRepositorySearchParams params, CountMode countMode) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<CommentEntity> criteriaQuery = builder.createQuery(CommentEntity.class);
         Root<CommentEntity> root = criteriaQuery.from(CommentEntity.class);
 
         if (params.content() != null) {
-            criteriaQuery.where(builder.like(builder.lower(root.get("content")), "%" + params.content().toLowerCase() + "%"));
+            criteriaQuery.where(containsIgnoreCase(builder, root.get("content"), params.content()));
         }
 
-        criteriaQuery.distinct(true);
-
-        return getFilteredEntity(builder, criteriaQuery, root, pageable);
+        return getFilteredEntity(builder, criteriaQuery, root, pageable, countMode);
     }
 
     @Override
@@ -42,4 +46,26 @@ public class CommentRepositoryImpl extends AbstractRepository<CommentEntity, Lon
                 .setParameter("id", id)
                 .getResultList();
     }
+
+    @Override
+    public Map<Long, List<CommentEntity>> getByNewsIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return entityManager
+                .createQuery("SELECT n.id, c FROM NewsEntity n INNER JOIN n.comments c where n.id in :ids ORDER BY c.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (CommentEntity) row[1], Collectors.toList())));
+    }
+
+    @Override
+    public Optional<Long> getNewsIdById(Long id) {
+        return entityManager
+                .createQuery("SELECT c.news.id FROM CommentEntity c WHERE c.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
 }
@@ -4,61 +4,324 @@ import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.entity.AuthorEntity;
 import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
+import com.mjc.school.repository.query.NewsKeysetCursor;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
+import com.mjc.school.repository.query.TagMatch;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Join;
-import javax.persistence.criteria.Root;
+import javax.persistence.EntityGraph;
+import javax.persistence.Query;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Repository
 public class NewsRepositoryImpl extends AbstractRepository<NewsEntity, Long, NewsRepositorySearchParams> implements NewsRepository {
 
+    private static final String FETCH_GRAPH_HINT = "javax.persistence.fetchgraph";
+
+    private static final int SCROLL_FETCH_SIZE = 500;
+
+    private static final String SEARCH_QUERY = """
+            SELECT n.* FROM news n
+            WHERE n.search_vector @@ websearch_to_tsquery('english', :query)
+              AND NOT EXISTS (SELECT 1 FROM authors a WHERE a.id = n.author_id AND a.deletion_requested)
+            ORDER BY ts_rank(n.search_vector, websearch_to_tsquery('english', :query)) DESC, n.id DESC""";
+    private static final String SEARCH_COUNT_QUERY = """
+            SELECT count(*) FROM news n
+            WHERE n.search_vector @@ websearch_to_tsquery('english', :query)
+              AND NOT EXISTS (SELECT 1 FROM authors a WHERE a.id = n.author_id AND a.deletion_requested)""";
+
+    private static final String DELETE_CHUNK_BY_AUTHOR_QUERY = """
+            WITH deleted AS (
+                DELETE FROM news WHERE id IN (
+                    SELECT id FROM news WHERE author_id = :authorId LIMIT :limit)
+                RETURNING id)
+            SELECT d.id, nt.tag_id FROM deleted d
+            LEFT JOIN news_tags nt ON nt.news_id = d.id""";
+    private static final String DELETE_ALL_BY_AUTHOR_QUERY = """
+            WITH deleted AS (
+                DELETE FROM news WHERE author_id = :authorId
+                RETURNING id)
+            SELECT d.id, nt.tag_id FROM deleted d
+            LEFT JOIN news_tags nt ON nt.news_id = d.id""";
+
+    @Override
+    protected Predicate visibilityRestriction(CriteriaBuilder builder, AbstractQuery<?> query, Root<NewsEntity> root) {
+        // news of an author queued for deletion is hidden right away, the background job only purges it
+        Subquery<Long> markedAuthor = query.subquery(Long.class);
+        Root<AuthorEntity> author = markedAuthor.from(AuthorEntity.class);
+        markedAuthor.select(author.get("id"))
+                .where(builder.equal(author.get("id"), root.get("author").get("id")),
+                        builder.isTrue(author.get("deletionRequested")));
+        return builder.not(builder.exists(markedAuthor));
+    }
+
+    @Override
+    protected String counterAttribute() {
+        return "commentCount";
+    }
+
     @Override
     protected void setFields(NewsEntity toUpdate, NewsEntity updateBy) {
         toUpdate.setTitle(updateBy.getTitle());
         toUpdate.setContent(updateBy.getContent());
         toUpdate.setAuthor(updateBy.getAuthor());
-        toUpdate.setTags(updateBy.getTags());
+        Set<TagEntity> oldTags = new HashSet<>(toUpdate.getTags());
+        Set<TagEntity> newTags = new HashSet<>(updateBy.getTags());
+        if (!oldTags.equals(newTags)) {
+            toUpdate.setTags(updateBy.getTags());
+            // tags.news_count is maintained by a trigger on news_tags, so only added and removed tags go stale
+            Set<TagEntity> changed = new HashSet<>(oldTags);
+            changed.addAll(newTags);
+            changed.removeIf(tag -> oldTags.contains(tag) && newTags.contains(tag));
+            evictAfterCommit(TagEntity.class, tagIds(changed));
+        }
+    }
+
+    @Override
+    public NewsEntity create(NewsEntity entity) {
+        evictAfterCommit(TagEntity.class, tagIds(entity.getTags()));
+        return super.create(entity);
+    }
+
+    @Override
+    public List<NewsEntity> createAll(Collection<NewsEntity> entities) {
+        evictAfterCommit(TagEntity.class, tagIds(entities.stream().flatMap(news -> news.getTags().stream()).toList()));
+        return super.createAll(entities);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        evictAfterCommit(TagEntity.class, entityManager
+                .createQuery("SELECT t.id FROM NewsEntity n INNER JOIN n.tags t WHERE n.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultList());
+        return super.deleteById(id);
+    }
+
+    @Override
+    public List<Long> getIdsByAuthorId(Long authorId) {
+        return entityManager
+                .createQuery("SELECT n.id FROM NewsEntity n WHERE n.author.id = :authorId", Long.class)
+                .setParameter("authorId", authorId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> deleteChunkByAuthorId(Long authorId, int limit) {
+        return deleteReturningIds(entityManager.createNativeQuery(DELETE_CHUNK_BY_AUTHOR_QUERY)
+                .setParameter("authorId", authorId)
+                .setParameter("limit", limit));
+    }
+
+    @Override
+    public List<Long> deleteAllByAuthorId(Long authorId) {
+        return deleteReturningIds(entityManager.createNativeQuery(DELETE_ALL_BY_AUTHOR_QUERY)
+                .setParameter("authorId", authorId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> deleteReturningIds(Query deleteQuery) {
+        List<Object[]> rows = deleteQuery
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(NewsEntity.class)
+                .getResultList();
+        evictAfterCommit(TagEntity.class, rows.stream()
+                .filter(columns -> columns[1] != null)
+                .map(columns -> ((Number) columns[1]).longValue())
+                .toList());
+        return rows.stream().map(columns -> ((Number) columns[0]).longValue()).distinct().toList();
+    }
+
+    private static List<Long> tagIds(Collection<TagEntity> tags) {
+        return tags.stream().map(TagEntity::getId).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Slice<NewsEntity> getAll(Pageable pageable, NewsRepositorySearchParams params, CountMode countMode) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NewsEntity> query = builder.createQuery(NewsEntity.class);
+        Root<NewsEntity> root = query.from(NewsEntity.class);
+
+        List<Predicate> predicates = buildPredicates(builder, query, root, params);
+        if (!predicates.isEmpty()) {
+            query.where(predicates.toArray(new Predicate[0]));
+        }
+
+        return getFilteredEntity(builder, query, root, pageable, countMode);
     }
 
     @Override
-    public Page<NewsEntity> getAll(Pageable pageable, NewsRepositorySearchParams params) {
+    public List<NewsEntity> getAllAfter(NewsKeysetCursor cursor, int limit, NewsRepositorySearchParams params) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<NewsEntity> query = builder.createQuery(NewsEntity.class);
         Root<NewsEntity> root = query.from(NewsEntity.class);
 
-        if (params.tagIds() != null || params.tagNames() != null) {
-            Join<NewsEntity, TagEntity> tagJoin = root.join("tags");
+        List<Predicate> predicates = buildPredicates(builder, query, root, params);
+        predicates.add(visibilityRestriction(builder, query, root));
+        if (cursor != null) {
+            Path<LocalDateTime> creationDate = root.get("creationDate");
+            predicates.add(builder.or(
+                    builder.lessThan(creationDate, cursor.creationDate()),
+                    builder.and(
+                            builder.equal(creationDate, cursor.creationDate()),
+                            builder.lessThan(root.<Long>get("id"), cursor.id()))));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(root.get("creationDate")), builder.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Page<NewsEntity> search(String query, Pageable pageable) {
+        List<NewsEntity> content = entityManager.createNativeQuery(SEARCH_QUERY, NewsEntity.class)
+                .setParameter("query", query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager
+                .createNativeQuery(SEARCH_COUNT_QUERY)
+                .setParameter("query", query)
+                .getSingleResult()).longValue());
+    }
+
+    @Override
+    public void scrollAll(Consumer<NewsEntity> action) {
+        ScrollableResults results = entityManager.unwrap(Session.class)
+                .createQuery("SELECT n FROM NewsEntity n WHERE NOT EXISTS (SELECT a.id FROM AuthorEntity a " +
+                        "WHERE a.id = n.author.id AND a.deletionRequested = true) ORDER BY n.id", NewsEntity.class)
+                .setFetchSize(SCROLL_FETCH_SIZE)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            while (results.next()) {
+                NewsEntity entity = (NewsEntity) results.get(0);
+                action.accept(entity);
+                entityManager.detach(entity);
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    @Override
+    public Optional<NewsEntity> getById(Long id) {
+        return super.getById(id).filter(NewsRepositoryImpl::isVisible);
+    }
+
+    @Override
+    public Optional<NewsEntity> getByIdWithAuthorAndTags(Long id) {
+        EntityGraph<?> graph = entityManager.getEntityGraph(NewsEntity.WITH_AUTHOR_AND_TAGS_GRAPH);
+        return Optional.ofNullable(entityManager.find(NewsEntity.class, id, Map.of(FETCH_GRAPH_HINT, graph)))
+                .filter(NewsRepositoryImpl::isVisible);
+    }
+
+    private static boolean isVisible(NewsEntity news) {
+        return news.getAuthor() == null || !news.getAuthor().isDeletionRequested();
+    }
+
+    private List<Predicate> buildPredicates(CriteriaBuilder builder, CriteriaQuery<NewsEntity> query, Root<NewsEntity> root,
+                                            NewsRepositorySearchParams params) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (params.tagMatch() == TagMatch.ALL) {
             if (params.tagIds() != null) {
-                query.where(tagJoin.get("id").in(params.tagIds()));
+                predicates.add(root.get("id").in(newsWithAllTags(builder, query,
+                        tag -> tag.get("id"), params.tagIds().stream().distinct().toList())));
             }
             if (params.tagNames() != null) {
-                query.where(builder.lower(tagJoin.get("name")).in(params.tagNames().stream().map(String::toLowerCase).toList()));
+                predicates.add(root.get("id").in(newsWithAllTags(builder, query,
+                        tag -> builder.lower(tag.get("name")), params.tagNames().stream().map(String::toLowerCase).distinct().toList())));
             }
+        } else if (params.tagIds() != null || params.tagNames() != null) {
+            predicates.add(builder.exists(newsWithAnyTag(builder, query, root, params)));
         }
 
         if (params.authorName() != null) {
-            Join<NewsEntity, AuthorEntity> authorJoin = root.join("author");
-            query.where(builder.like(builder.lower(authorJoin.get("name")), "%" + params.authorName().toLowerCase() + "%"));
+            Subquery<Long> authorIds = query.subquery(Long.class);
+            Root<AuthorEntity> author = authorIds.from(AuthorEntity.class);
+            authorIds.select(author.get("id"))
+                    .where(containsIgnoreCase(builder, author.get("name"), params.authorName()));
+            predicates.add(root.get("author").get("id").in(authorIds));
         }
         if (params.title() != null) {
-            query.where(builder.like(builder.lower(root.get("title")), "%" + params.title().toLowerCase() + "%"));
+            predicates.add(containsIgnoreCase(builder, root.get("title"), params.title()));
         }
         if (params.content() != null) {
-            query.where(builder.like(builder.lower(root.get("content")), "%" + params.content().toLowerCase() + "%"));
+            predicates.add(containsIgnoreCase(builder, root.get("content"), params.content()));
         }
 
-        return getFilteredEntity(builder, query, root, pageable);
+        return predicates;
+    }
+
+    private Subquery<Long> newsWithAnyTag(CriteriaBuilder builder, CriteriaQuery<NewsEntity> query, Root<NewsEntity> root,
+                                          NewsRepositorySearchParams params) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<NewsEntity> news = subquery.from(NewsEntity.class);
+        Join<NewsEntity, TagEntity> tag = news.join("tags");
+
+        List<Predicate> matches = new ArrayList<>();
+        if (params.tagIds() != null) {
+            matches.add(tag.get("id").in(params.tagIds()));
+        }
+        if (params.tagNames() != null) {
+            matches.add(builder.lower(tag.get("name")).in(params.tagNames().stream().map(String::toLowerCase).toList()));
+        }
+
+        return subquery.select(news.get("id"))
+                .where(builder.equal(news.get("id"), root.get("id")), builder.or(matches.toArray(new Predicate[0])));
+    }
+
+    private <V> Subquery<Long> newsWithAllTags(CriteriaBuilder builder, CriteriaQuery<NewsEntity> query,
+                                               Function<Join<NewsEntity, TagEntity>, Expression<V>> key, List<V> values) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<NewsEntity> news = subquery.from(NewsEntity.class);
+        Join<NewsEntity, TagEntity> tag = news.join("tags");
+
+        return subquery.select(news.get("id"))
+                .where(key.apply(tag).in(values))
+                .groupBy(news.get("id"))
+                .having(builder.equal(builder.count(tag), (long) values.size()));
+    }
+
+    @Override
+    public Set<String> getExistingTitles(Collection<String> titles) {
+        if (titles.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(entityManager
+                .createQuery("SELECT lower(n.title) FROM NewsEntity n WHERE lower(n.title) IN :titles", String.class)
+                .setParameter("titles", titles.stream().map(String::toLowerCase).distinct().toList())
+                .getResultList());
     }
 
     @Override
     public boolean existByTitle(String title) {
-        return (Boolean) entityManager
-                .createQuery("SELECT CASE WHEN count(n)>0 THEN true ELSE false END FROM NewsEntity n WHERE lower(title)=:title")
-                .setParameter("title", title.toLowerCase()).getSingleResult();
+        return !entityManager
+                .createQuery("SELECT 1 FROM NewsEntity n WHERE lower(n.title)=:title")
+                .setParameter("title", title.toLowerCase())
+                .setMaxResults(1)
+                .getResultList().isEmpty();
     }
 }
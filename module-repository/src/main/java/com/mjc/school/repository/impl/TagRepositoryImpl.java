@@ -2,18 +2,21 @@ package com.mjc.school.repository.impl;
 
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.repository.query.TagRepositorySearchParams;
-import org.springframework.data.domain.Page;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.Cache;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Repository
 public class TagRepositoryImpl extends AbstractRepository<TagEntity, Long, TagRepositorySearchParams> implements TagRepository {
@@ -24,31 +27,38 @@ public class TagRepositoryImpl extends AbstractRepository<TagEntity, Long, TagRe
     }
 
     @Override
-    public Page<TagEntity> getAll(Pageable pageable, TagRepositorySearchParams params) {
+    protected String counterAttribute() {
+        return "newsCount";
+    }
+
+    @Override
+    public Slice<TagEntity> getAll(Pageable pageable, TagRepositorySearchParams params, CountMode countMode) {
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<TagEntity> query = builder.createQuery(TagEntity.class);
         Root<TagEntity> root = query.from(TagEntity.class);
 
         if (params.name() != null) {
-            query.where(builder.like(builder.lower(root.get("name")), "%" + params.name().toLowerCase() + "%"));
+            query.where(containsIgnoreCase(builder, root.get("name"), params.name()));
         }
-        query.distinct(true);
 
-        return getFilteredEntity(builder, query, root, pageable);
+        return getFilteredEntity(builder, query, root, pageable, countMode);
     }
 
     @Override
     public boolean existByName(String name) {
-        return (Boolean) entityManager
-                .createQuery("SELECT CASE WHEN count(t)>0 THEN true ELSE false END FROM TagEntity t WHERE lower(name)=:name")
-                .setParameter("name", name.toLowerCase()).getSingleResult();
+        return !entityManager
+                .createQuery("SELECT 1 FROM TagEntity t WHERE lower(t.name)=:name")
+                .setParameter("name", name.toLowerCase())
+                .setMaxResults(1)
+                .getResultList().isEmpty();
     }
 
     @Override
     public Optional<TagEntity> getByName(String name) {
         Query findByName = entityManager
-                .createQuery("SELECT t FROM TagEntity t where lower(name)=:name", TagEntity.class)
-                .setParameter("name", name.toLowerCase());
+                .createQuery("SELECT t FROM TagEntity t where lower(t.name)=:name", TagEntity.class)
+                .setParameter("name", name.toLowerCase())
+                .setHint(QueryHints.HINT_CACHEABLE, true);
         try {
             return Optional.of((TagEntity) findByName.getSingleResult());
         } catch (NoResultException e) {
@@ -63,4 +73,44 @@ public class TagRepositoryImpl extends AbstractRepository<TagEntity, Long, TagRe
                 .setParameter("id", id)
                 .getResultList();
     }
+
+    @Override
+    public Map<Long, List<TagEntity>> getByNewsIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return entityManager
+                .createQuery("SELECT n.id, t FROM NewsEntity n INNER JOIN n.tags t where n.id in :ids ORDER BY t.id", Object[].class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (TagEntity) row[1], Collectors.toList())));
+    }
+
+    @Override
+    public List<TagEntity> getAllByName(Collection<String> names) {
+        return getAllByLowerName(names.stream().map(String::toLowerCase).distinct().toList());
+    }
+
+    @Override
+    public List<TagEntity> getOrCreateAll(Collection<String> names) {
+        return getOrCreateAllByName(names, TagEntity::getName,
+                "INSERT INTO tags (name) VALUES %s ON CONFLICT (lower(name)) DO NOTHING", "(%s)");
+    }
+
+    @Override
+    public Set<Long> findMissingIds(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        Set<Long> unknownIds = ids.stream()
+                .filter(id -> !cache.contains(TagEntity.class, id))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (unknownIds.isEmpty()) {
+            return unknownIds;
+        }
+        unknownIds.removeAll(entityManager
+                .createQuery("SELECT t.id FROM TagEntity t WHERE t.id IN :ids", Long.class)
+                .setParameter("ids", unknownIds)
+                .getResultList());
+        return unknownIds;
+    }
 }
@@ -0,0 +1,6 @@
+package com.mjc.school.repository.query;
+
+public record AuthorNewsCountCursor(
+        Long newsCount,
+        Long id) {
+}
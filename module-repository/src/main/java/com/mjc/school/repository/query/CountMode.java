@@ -0,0 +1,7 @@
+package com.mjc.school.repository.query;
+
+public enum CountMode {
+    EXACT,
+    SKIP,
+    ESTIMATED
+}
@@ -0,0 +1,8 @@
+package com.mjc.school.repository.query;
+
+import java.time.LocalDateTime;
+
+public record NewsKeysetCursor(
+        LocalDateTime creationDate,
+        Long id) {
+}
@@ -7,5 +7,6 @@ public record NewsRepositorySearchParams(
         String content,
         String authorName,
         List<String> tagNames,
-        List<Long> tagIds) {
+        List<Long> tagIds,
+        TagMatch tagMatch) {
 }
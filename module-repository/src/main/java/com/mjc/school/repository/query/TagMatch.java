@@ -0,0 +1,6 @@
+package com.mjc.school.repository.query;
+
+public enum TagMatch {
+    ALL,
+    ANY
+}
@@ -0,0 +1,13 @@
+delete
+from news_tags a
+    using news_tags b
+where a.ctid < b.ctid
+  and a.news_id = b.news_id
+  and a.tag_id = b.tag_id;
+
+alter table news_tags
+    add constraint news_tags_pkey primary key (news_id, tag_id);
+
+create index news_tags_tag_id_news_id_idx on news_tags (tag_id, news_id);
+create index comments_news_id_creation_date_idx on comments (news_id, creation_date);
+create index news_author_id_creation_date_idx on news (author_id, creation_date);
@@ -0,0 +1,15 @@
+alter table comments
+    drop constraint comment_news_fk,
+    add constraint comment_news_fk foreign key (news_id) references news on delete cascade;
+
+alter table news
+    drop constraint news_author_fk,
+    add constraint news_author_fk foreign key (author_id) references authors on delete cascade;
+
+alter table news_tags
+    drop constraint news_tags_tag_id_fk,
+    add constraint news_tags_tag_id_fk foreign key (tag_id) references tags on delete cascade;
+
+alter table news_tags
+    drop constraint news_tags_news_id_fk,
+    add constraint news_tags_news_id_fk foreign key (news_id) references news on delete cascade;
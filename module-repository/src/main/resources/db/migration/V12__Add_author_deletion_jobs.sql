@@ -0,0 +1,18 @@
+alter table authors add column deletion_requested boolean not null default false;
+
+create table author_deletion_jobs
+(
+    id               bigserial   not null,
+    author_id        bigint      not null,
+    status           varchar(16) not null,
+    total_news       bigint      not null,
+    purged_news      bigint      not null default 0,
+    error            varchar(1000),
+    creation_date    timestamp,
+    last_update_date timestamp,
+    primary key (id)
+);
+
+alter sequence author_deletion_jobs_id_seq increment by 50;
+
+create index author_deletion_jobs_author_id_idx on author_deletion_jobs (author_id);
@@ -0,0 +1 @@
+create index news_creation_date_id_idx on news (creation_date desc, id desc);
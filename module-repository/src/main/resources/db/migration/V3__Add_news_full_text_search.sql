@@ -0,0 +1,7 @@
+alter table news
+    add column search_vector tsvector generated always as (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) stored;
+
+create index news_search_vector_idx on news using gin (search_vector);
@@ -0,0 +1,4 @@
+create extension if not exists pg_trgm;
+
+create index authors_name_trgm_idx on authors using gin (lower(name) gin_trgm_ops);
+create index tags_name_trgm_idx on tags using gin (lower(name) gin_trgm_ops);
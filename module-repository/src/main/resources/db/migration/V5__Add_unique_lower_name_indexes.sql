@@ -0,0 +1,35 @@
+-- rows that differ only by case would make the unique indexes fail, so they are resolved first:
+-- authors and tags are merged into the row with the lowest id, news titles get the id appended
+with survivors as (select id, min(id) over (partition by lower(name)) as survivor_id from authors)
+update news n
+set author_id = s.survivor_id
+from survivors s
+where n.author_id = s.id
+  and s.id <> s.survivor_id;
+
+delete
+from authors a
+    using authors b
+where lower(a.name) = lower(b.name)
+  and a.id > b.id;
+
+with survivors as (select id, min(id) over (partition by lower(name)) as survivor_id from tags)
+update news_tags nt
+set tag_id = s.survivor_id
+from survivors s
+where nt.tag_id = s.id
+  and s.id <> s.survivor_id;
+
+delete
+from tags a
+    using tags b
+where lower(a.name) = lower(b.name)
+  and a.id > b.id;
+
+update news a
+set title = left(a.title, 255 - length(' (' || a.id || ')')) || ' (' || a.id || ')'
+where exists(select 1 from news b where lower(b.title) = lower(a.title) and b.id < a.id);
+
+create unique index news_title_lower_uidx on news (lower(title));
+create unique index authors_name_lower_uidx on authors (lower(name));
+create unique index tags_name_lower_uidx on tags (lower(name));
@@ -0,0 +1,9 @@
+alter sequence authors_id_seq increment by 50;
+alter sequence comments_id_seq increment by 50;
+alter sequence news_id_seq increment by 50;
+alter sequence tags_id_seq increment by 50;
+
+select setval('authors_id_seq', coalesce((select max(id) from authors), 0) + 1, false);
+select setval('comments_id_seq', coalesce((select max(id) from comments), 0) + 1, false);
+select setval('news_id_seq', coalesce((select max(id) from news), 0) + 1, false);
+select setval('tags_id_seq', coalesce((select max(id) from tags), 0) + 1, false);
@@ -0,0 +1,4 @@
+alter table authors add column version bigint not null default 0;
+alter table comments add column version bigint not null default 0;
+alter table news add column version bigint not null default 0;
+alter table tags add column version bigint not null default 0;
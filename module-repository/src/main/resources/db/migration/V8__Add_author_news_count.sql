@@ -0,0 +1,28 @@
+alter table authors add column news_count bigint not null default 0;
+
+update authors a
+set news_count = (select count(*) from news n where n.author_id = a.id);
+
+create index authors_news_count_id_idx on authors (news_count, id);
+
+create function update_author_news_count() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'UPDATE' and old.author_id is not distinct from new.author_id then
+        return null;
+    end if;
+    if tg_op in ('UPDATE', 'DELETE') and old.author_id is not null then
+        update authors set news_count = news_count - 1 where id = old.author_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') and new.author_id is not null then
+        update authors set news_count = news_count + 1 where id = new.author_id;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger news_author_news_count_trigger
+    after insert or delete or update of author_id on news
+    for each row
+execute function update_author_news_count();
@@ -0,0 +1,55 @@
+alter table news add column comment_count bigint not null default 0;
+alter table tags add column news_count bigint not null default 0;
+
+update news n
+set comment_count = (select count(*) from comments c where c.news_id = n.id);
+
+update tags t
+set news_count = (select count(*) from news_tags nt where nt.tag_id = t.id);
+
+create index news_comment_count_id_idx on news (comment_count, id);
+create index tags_news_count_id_idx on tags (news_count, id);
+
+create function update_news_comment_count() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'UPDATE' and old.news_id is not distinct from new.news_id then
+        return null;
+    end if;
+    if tg_op in ('UPDATE', 'DELETE') and old.news_id is not null then
+        update news set comment_count = comment_count - 1 where id = old.news_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') and new.news_id is not null then
+        update news set comment_count = comment_count + 1 where id = new.news_id;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger comments_news_comment_count_trigger
+    after insert or delete or update of news_id on comments
+    for each row
+execute function update_news_comment_count();
+
+create function update_tag_news_count() returns trigger
+    language plpgsql as
+$$
+begin
+    if tg_op = 'UPDATE' and old.tag_id is not distinct from new.tag_id then
+        return null;
+    end if;
+    if tg_op in ('UPDATE', 'DELETE') then
+        update tags set news_count = news_count - 1 where id = old.tag_id;
+    end if;
+    if tg_op in ('INSERT', 'UPDATE') then
+        update tags set news_count = news_count + 1 where id = new.tag_id;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger news_tags_tag_news_count_trigger
+    after insert or delete or update of tag_id on news_tags
+    for each row
+execute function update_tag_news_count();
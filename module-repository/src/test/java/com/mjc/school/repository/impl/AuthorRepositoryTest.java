@@ -3,18 +3,26 @@ package com.mjc.school.repository.impl;
 import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.configuration.RepositoryConfiguration;
 import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.entity.CommentEntity;
+import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.query.AuthorRepositorySearchParams;
+import com.mjc.school.repository.query.CountMode;
 import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,10 +33,12 @@ import static org.junit.jupiter.api.Assertions.*;
 public class AuthorRepositoryTest {
 
     AuthorRepository authorRepository;
+    TestEntityManager entityManager;
 
     @Autowired
-    public AuthorRepositoryTest(AuthorRepository authorRepository) {
+    public AuthorRepositoryTest(AuthorRepository authorRepository, TestEntityManager entityManager) {
         this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
     }
 
     @AfterAll
@@ -64,6 +74,43 @@ public class AuthorRepositoryTest {
                 .contains(firstExpectedName, secondExpectedName);
     }
 
+    @Test
+    public void getAllTreatsWildcardsLiterallyTest() {
+        Pageable pageable = PageRequest.of(0, 5);
+
+        assertTrue(authorRepository.getAll(pageable, new AuthorRepositorySearchParams("%")).isEmpty());
+        assertEquals(1, authorRepository.getAll(pageable, new AuthorRepositorySearchParams("TESTOV")).getTotalElements());
+    }
+
+    @Test
+    public void getAllEstimatedIgnoresVisibilityRestrictionTest() {
+        Pageable pageable = PageRequest.of(0, 1);
+        AuthorRepositorySearchParams emptyParams = new AuthorRepositorySearchParams(null);
+        entityManager.getEntityManager().createNativeQuery("ANALYZE authors").executeUpdate();
+        authorRepository.markForDeletion(2L);
+
+        Page<AuthorEntity> estimated = (Page<AuthorEntity>) authorRepository.getAll(pageable, emptyParams, CountMode.ESTIMATED);
+
+        assertEquals(2, estimated.getTotalElements());
+        assertEquals(1, authorRepository.getAll(pageable, emptyParams).getTotalElements());
+    }
+
+    @Test
+    public void getByIdUsesSecondLevelCacheTest() {
+        final long id = 2;
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+
+        authorRepository.getById(id);
+        entityManager.clear();
+        statistics.clear();
+        AuthorEntity actual = authorRepository.getById(id).get();
+
+        assertEquals(id, actual.getId());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(AuthorEntity.CACHE_REGION).getHitCount());
+    }
+
     @Test
     public void getByIdTest() {
         final long id = 2;
@@ -75,8 +122,30 @@ public class AuthorRepositoryTest {
     @Test
     public void deleteByIdTest() {
         final long id = 1;
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
         assertTrue(authorRepository.deleteById(id));
-        ;
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertNull(entityManager.find(NewsEntity.class, 1L));
+        assertNull(entityManager.find(CommentEntity.class, 1L));
+    }
+
+    @Test
+    public void markedAuthorIsHiddenAndKeptWhileItHasNewsTest() {
+        final long id = 1L;
+        assertTrue(authorRepository.markForDeletion(id));
+        assertFalse(authorRepository.markForDeletion(id));
+
+        assertEquals(Set.of(id), authorRepository.lockAndGetMarkedForDeletion(List.of(1L, 2L)));
+        assertTrue(authorRepository.getVersionById(id).isEmpty());
+        assertFalse(authorRepository.deleteIfHasNoNews(id));
+        assertTrue(authorRepository.existById(id));
+        assertTrue(authorRepository.getByNewsId(1L).isEmpty());
     }
 
     @Test
@@ -89,6 +158,7 @@ public class AuthorRepositoryTest {
         AuthorEntity actual = authorRepository.update(toUpdate);
 
         assertEquals(updatedName, actual.getName());
+        assertEquals(1L, actual.getVersion());
         assertNotEquals(actual.getCreationDate(), actual.getLastUpdateDate());
     }
 
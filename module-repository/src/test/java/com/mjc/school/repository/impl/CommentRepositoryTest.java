@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ContextConfiguration;
@@ -26,10 +27,12 @@ import static org.junit.jupiter.api.Assertions.*;
 public class CommentRepositoryTest {
 
     CommentRepository commentRepository;
+    TestEntityManager entityManager;
 
     @Autowired
-    public CommentRepositoryTest(CommentRepository commentRepository) {
+    public CommentRepositoryTest(CommentRepository commentRepository, TestEntityManager entityManager) {
         this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
     }
 
     @AfterAll
@@ -66,6 +69,15 @@ public class CommentRepositoryTest {
                 .contains(firstContent, secondContent);
     }
 
+    @Test
+    public void getAllTreatsWildcardsLiterallyTest() {
+        Pageable pageable = PageRequest.of(0, 5);
+
+        assertTrue(commentRepository.getAll(pageable, new CommentRepositorySearchParams("%")).isEmpty());
+        assertTrue(commentRepository.getAll(pageable, new CommentRepositorySearchParams("_")).isEmpty());
+        assertEquals(1, commentRepository.getAll(pageable, new CommentRepositorySearchParams("WARM")).getContent().size());
+    }
+
     @Test
     public void getByIdTest() {
         final long id = 1;
@@ -84,6 +96,7 @@ public class CommentRepositoryTest {
         CommentEntity actual = commentRepository.update(toUpdate);
 
         assertEquals(newContent, actual.getContent());
+        assertEquals(1L, actual.getVersion());
         assertNotEquals(actual.getCreationDate(), actual.getLastUpdateDate());
     }
 
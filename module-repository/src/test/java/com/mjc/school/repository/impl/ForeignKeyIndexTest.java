@@ -0,0 +1,84 @@
+package com.mjc.school.repository.impl;
+
+import com.mjc.school.repository.configuration.RepositoryConfiguration;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = RepositoryConfiguration.class)
+public class ForeignKeyIndexTest {
+
+    EntityManager entityManager;
+
+    @Autowired
+    public ForeignKeyIndexTest(TestEntityManager entityManager) {
+        this.entityManager = entityManager.getEntityManager();
+    }
+
+    @AfterAll
+    public static void clean(@Autowired Flyway flyway) {
+        flyway.clean();
+    }
+
+    @BeforeEach
+    public void disableSequentialScans() {
+        // test data is tiny, so without this the planner would prefer a sequential scan even when an index fits
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    @Test
+    public void tagsByNewsIdUsePrimaryKeyTest() {
+        String plan = explain("SELECT tag_id FROM news_tags WHERE news_id = 1");
+
+        assertThat(plan).contains("news_tags_pkey");
+    }
+
+    @Test
+    public void newsByTagIdUseReverseIndexTest() {
+        String plan = explain("SELECT news_id FROM news_tags WHERE tag_id = 1");
+
+        assertThat(plan).contains("news_tags_tag_id_news_id_idx");
+    }
+
+    @Test
+    public void commentsByNewsIdUseIndexTest() {
+        String plan = explain("SELECT * FROM comments WHERE news_id = 1 ORDER BY creation_date");
+
+        assertThat(plan).contains("comments_news_id_creation_date_idx").doesNotContain("Sort");
+    }
+
+    @Test
+    public void newsByAuthorIdUseIndexTest() {
+        String plan = explain("SELECT * FROM news WHERE author_id = 1 ORDER BY creation_date DESC");
+
+        assertThat(plan).contains("news_author_id_creation_date_idx").doesNotContain("Sort");
+    }
+
+    @Test
+    public void duplicateNewsTagIsRejectedTest() {
+        List<?> inserted = entityManager
+                .createNativeQuery("INSERT INTO news_tags (news_id, tag_id) VALUES (1, 1) ON CONFLICT DO NOTHING RETURNING news_id")
+                .getResultList();
+
+        assertThat(inserted).isEmpty();
+    }
+
+    private String explain(String sql) {
+        List<?> rows = entityManager.createNativeQuery("EXPLAIN (COSTS OFF) " + sql).getResultList();
+        return rows.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+}
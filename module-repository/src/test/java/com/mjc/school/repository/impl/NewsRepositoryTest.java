@@ -3,17 +3,26 @@ package com.mjc.school.repository.impl;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.configuration.RepositoryConfiguration;
 import com.mjc.school.repository.entity.NewsEntity;
+import com.mjc.school.repository.query.CountMode;
+import com.mjc.school.repository.query.NewsKeysetCursor;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
+import com.mjc.school.repository.query.TagMatch;
 import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ContextConfiguration;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
@@ -25,10 +34,12 @@ import static org.junit.jupiter.api.Assertions.*;
 public class NewsRepositoryTest {
 
     NewsRepository newsRepository;
+    TestEntityManager entityManager;
 
     @Autowired
-    public NewsRepositoryTest(NewsRepository newsRepository) {
+    public NewsRepositoryTest(NewsRepository newsRepository, TestEntityManager entityManager) {
         this.newsRepository = newsRepository;
+        this.entityManager = entityManager;
     }
 
     @AfterAll
@@ -56,7 +67,7 @@ public class NewsRepositoryTest {
         final String secondTitle = "CS:GO 2";
 
         Pageable pageable = PageRequest.of(0, 2);
-        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null);
+        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
 
         List<NewsEntity> actual = newsRepository.getAll(pageable, emptyParams).getContent();
 
@@ -66,6 +77,126 @@ public class NewsRepositoryTest {
                 .contains(firstTitle, secondTitle);
     }
 
+    @Test
+    public void getAllEstimatedUsesTableStatisticsTest() {
+        Pageable pageable = PageRequest.of(0, 1);
+        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
+        entityManager.getEntityManager().createNativeQuery("ANALYZE news").executeUpdate();
+        newsRepository.deleteById(2L);
+
+        Page<NewsEntity> estimated = (Page<NewsEntity>) newsRepository.getAll(pageable, emptyParams, CountMode.ESTIMATED);
+
+        assertEquals(2, estimated.getTotalElements());
+        assertEquals(1, newsRepository.getAll(pageable, emptyParams).getTotalElements());
+    }
+
+    @Test
+    public void getAllWithAnyTagTest() {
+        Pageable pageable = PageRequest.of(0, 2);
+        NewsRepositorySearchParams params = new NewsRepositorySearchParams(null, null, null, List.of("Weather"), List.of(2L), TagMatch.ANY);
+
+        List<NewsEntity> actual = newsRepository.getAll(pageable, params).getContent();
+
+        assertThat(actual)
+                .extracting("id")
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    public void getAllWithAllTagsTest() {
+        Pageable pageable = PageRequest.of(0, 2);
+        NewsRepositorySearchParams oneTag = new NewsRepositorySearchParams(null, null, null, List.of("weather"), List.of(1L), TagMatch.ALL);
+        NewsRepositorySearchParams twoTags = new NewsRepositorySearchParams(null, null, null, null, List.of(1L, 2L), TagMatch.ALL);
+
+        assertThat(newsRepository.getAll(pageable, oneTag).getContent())
+                .extracting("id")
+                .containsExactly(1L);
+        assertEquals(0, newsRepository.getAll(pageable, twoTags).getTotalElements());
+    }
+
+    @Test
+    public void getAllLoadsAssociationsInBatchesTest() {
+        Pageable pageable = PageRequest.of(0, 2);
+        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        List<NewsEntity> actual = newsRepository.getAll(pageable, emptyParams).getContent();
+        actual.forEach(news -> {
+            news.getAuthor().getName();
+            news.getTags().size();
+        });
+
+        assertEquals(2, actual.size());
+        assertTrue(statistics.getPrepareStatementCount() <= 4);
+    }
+
+    @Test
+    public void getAllAfterTest() {
+        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
+
+        List<NewsEntity> firstPage = newsRepository.getAllAfter(null, 1, emptyParams);
+        assertEquals(1, firstPage.size());
+        assertEquals(2L, firstPage.get(0).getId());
+
+        NewsEntity last = firstPage.get(0);
+        NewsKeysetCursor cursor = new NewsKeysetCursor(last.getCreationDate(), last.getId());
+        List<NewsEntity> secondPage = newsRepository.getAllAfter(cursor, 1, emptyParams);
+        assertEquals(1, secondPage.size());
+        assertEquals(1L, secondPage.get(0).getId());
+
+        NewsKeysetCursor lastCursor = new NewsKeysetCursor(secondPage.get(0).getCreationDate(), secondPage.get(0).getId());
+        assertTrue(newsRepository.getAllAfter(lastCursor, 1, emptyParams).isEmpty());
+    }
+
+    @Test
+    public void searchTest() {
+        Pageable pageable = PageRequest.of(0, 5);
+
+        Page<NewsEntity> actual = newsRepository.search("sunny Minsk", pageable);
+
+        assertEquals(1, actual.getTotalElements());
+        assertEquals("Weather in Minsk", actual.getContent().get(0).getTitle());
+    }
+
+    @Test
+    public void scrollAllTest() {
+        List<NewsEntity> scrolled = new ArrayList<>();
+
+        newsRepository.scrollAll(scrolled::add);
+
+        assertEquals(List.of(1L, 2L), scrolled.stream().map(NewsEntity::getId).toList());
+        scrolled.forEach(news -> assertFalse(entityManager.getEntityManager().contains(news)));
+    }
+
+    @Test
+    public void newsOfAuthorMarkedForDeletionIsHiddenTest() {
+        final long hiddenId = 1;
+        NewsRepositorySearchParams emptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
+        entityManager.getEntityManager()
+                .createQuery("UPDATE AuthorEntity a SET a.deletionRequested = true WHERE a.id = 1")
+                .executeUpdate();
+        entityManager.clear();
+
+        Page<NewsEntity> page = newsRepository.getAll(PageRequest.of(0, 5), emptyParams);
+        assertEquals(1, page.getTotalElements());
+        assertEquals(List.of(2L), page.getContent().stream().map(NewsEntity::getId).toList());
+        assertEquals(List.of(2L), newsRepository.getAllAfter(null, 5, emptyParams).stream().map(NewsEntity::getId).toList());
+        assertEquals(0, newsRepository.search("sunny Minsk", PageRequest.of(0, 5)).getTotalElements());
+
+        List<NewsEntity> scrolled = new ArrayList<>();
+        newsRepository.scrollAll(scrolled::add);
+        assertEquals(List.of(2L), scrolled.stream().map(NewsEntity::getId).toList());
+
+        assertTrue(newsRepository.getById(hiddenId).isEmpty());
+        assertTrue(newsRepository.getByIdWithAuthorAndTags(hiddenId).isEmpty());
+        assertTrue(newsRepository.getVersionById(hiddenId).isEmpty());
+        assertEquals(List.of(hiddenId), newsRepository.getIdsByAuthorId(1L));
+    }
+
     @Test
     public void getByIdTest() {
         final long id = 1;
@@ -84,6 +215,7 @@ public class NewsRepositoryTest {
         NewsEntity actual = newsRepository.update(toUpdate);
 
         assertEquals(newTitle, actual.getTitle());
+        assertEquals(1L, actual.getVersion());
         assertNotEquals(actual.getCreationDate(), actual.getLastUpdateDate());
     }
 
@@ -93,8 +225,37 @@ public class NewsRepositoryTest {
         assertTrue(newsRepository.deleteById(id));
     }
 
+    @Test
+    public void deleteChunkByAuthorIdTest() {
+        assertEquals(List.of(1L), newsRepository.deleteChunkByAuthorId(1L, 10));
+        assertEquals(List.of(), newsRepository.deleteChunkByAuthorId(1L, 10));
+        assertTrue(newsRepository.existById(2L));
+    }
+
+    @Test
+    public void deleteAllByAuthorIdTest() {
+        assertEquals(List.of(2L), newsRepository.deleteAllByAuthorId(2L));
+        assertFalse(newsRepository.existById(2L));
+        assertTrue(newsRepository.existById(1L));
+    }
+
     private NewsEntity buildNews(String title, String content) {
         return NewsEntity.newBuilder().setTitle(title).setContent(content).build();
     }
 
+    @Test
+    public void existByIdTest() {
+        entityManager.clear();
+
+        assertTrue(newsRepository.existById(1L));
+        assertFalse(newsRepository.existById(9L));
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    public void existAllByIdTest() {
+        assertTrue(newsRepository.existAllById(List.of(1L, 2L, 1L)));
+        assertFalse(newsRepository.existAllById(List.of(1L, 9L)));
+        assertTrue(newsRepository.existAllById(List.of()));
+    }
 }
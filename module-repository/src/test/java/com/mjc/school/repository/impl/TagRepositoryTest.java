@@ -4,6 +4,7 @@ import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.configuration.RepositoryConfiguration;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.repository.query.TagRepositorySearchParams;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.AfterAll;
@@ -11,15 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -66,6 +68,53 @@ public class TagRepositoryTest {
                 .contains(firstExpectedName, secondExpectedName);
     }
 
+    @Test
+    public void getAllWithoutCountTest() {
+        Pageable pageable = PageRequest.of(0, 1);
+        TagRepositorySearchParams emptyParams = new TagRepositorySearchParams(null);
+
+        Slice<TagEntity> actual = tagRepository.getAll(pageable, emptyParams, CountMode.SKIP);
+
+        assertFalse(actual instanceof Page);
+        assertEquals(1, actual.getNumberOfElements());
+        assertTrue(actual.hasNext());
+    }
+
+    @Test
+    public void existByNameTest() {
+        assertTrue(tagRepository.existByName("WEATHER"));
+        assertFalse(tagRepository.existByName("politics"));
+    }
+
+    @Test
+    public void getOrCreateAllTest() {
+        List<TagEntity> actual = tagRepository.getOrCreateAll(List.of("GAMES", "weather", "Games"));
+
+        assertEquals(2, actual.size());
+        assertEquals(2L, actual.get(0).getId());
+        assertEquals(1L, actual.get(1).getId());
+    }
+
+    @Test
+    public void getOrCreateAllInsertsMissingNamesTest() {
+        List<TagEntity> actual = tagRepository.getOrCreateAll(List.of("politics", "WEATHER", "Politics", "sports", "Games"));
+
+        assertThat(actual)
+                .extracting("name")
+                .containsExactly("politics", "weather", "sports", "games");
+        assertEquals(1L, actual.get(1).getId());
+        assertEquals(2L, actual.get(3).getId());
+        assertThat(List.of(actual.get(0).getId(), actual.get(2).getId()))
+                .doesNotContainNull()
+                .doesNotHaveDuplicates()
+                .doesNotContain(1L, 2L);
+
+        List<TagEntity> again = tagRepository.getOrCreateAll(List.of("SPORTS", "POLITICS"));
+
+        assertEquals(actual.get(2).getId(), again.get(0).getId());
+        assertEquals(actual.get(0).getId(), again.get(1).getId());
+    }
+
     @Test
     public void getByIdTest() {
         final long id = 1;
@@ -107,4 +156,10 @@ public class TagRepositoryTest {
     private TagEntity buildTag(String name) {
         return new TagEntity(null, name);
     }
+
+    @Test
+    public void findMissingIdsTest() {
+        assertThat(tagRepository.findMissingIds(List.of(1L, 2L, 7L, 9L))).containsExactly(7L, 9L);
+        assertTrue(tagRepository.findMissingIds(List.of(2L, 1L)).isEmpty());
+    }
 }
@@ -0,0 +1,10 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.AuthorDeletionJobResponse;
+
+public interface AuthorDeletionService {
+
+    AuthorDeletionJobResponse requestDeletion(Long authorId);
+
+    AuthorDeletionJobResponse getJobById(Long id);
+}
@@ -4,6 +4,7 @@ import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
 import com.mjc.school.service.dto.AuthorWithNewsResponse;
+import com.mjc.school.service.dto.CursorPage;
 import com.mjc.school.service.query.AuthorServiceSearchParams;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,4 +14,6 @@ public interface AuthorService extends BaseService<AuthorDtoRequest, AuthorDtoRe
     AuthorDtoResponse getByNewsId(Long id);
 
     Page<AuthorWithNewsResponse> getWithNewsAmount(Pageable pageable);
+
+    CursorPage<AuthorWithNewsResponse> getWithNewsAmountByCursor(String cursor, int size);
 }
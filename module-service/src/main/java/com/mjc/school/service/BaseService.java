@@ -1,16 +1,28 @@
 package com.mjc.school.service;
 
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.ResourceVersion;
+import com.mjc.school.service.query.CountStrategy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface BaseService<T, R, K, U, P> {
 
     Page<R> getAll(Pageable pageable, P searchParam);
 
+    Slice<R> getAll(Pageable pageable, P searchParam, CountStrategy countStrategy);
+
     R getById(K id);
 
+    ResourceVersion getVersionById(K id);
+
     R create(T createRequest);
 
+    List<BatchItemResult<R>> createAll(List<T> createRequests);
+
     R update(K id, U updateRequest);
 
     boolean deleteById(K id);
@@ -0,0 +1,11 @@
+package com.mjc.school.service;
+
+import com.mjc.school.service.dto.ImportReport;
+import com.mjc.school.service.query.ImportFormat;
+
+import java.io.InputStream;
+
+public interface NewsImportService {
+
+    ImportReport importNews(InputStream input, ImportFormat format, long offset);
+}
@@ -0,0 +1,32 @@
+package com.mjc.school.service;
+
+import com.github.fge.jsonpatch.JsonPatch;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.ExpandedNewsResponse;
+import com.mjc.school.service.dto.NewsDtoRequest;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.query.CountStrategy;
+import com.mjc.school.service.query.NewsServiceSearchParams;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public interface NewsService extends BaseService<NewsDtoRequest, NewsDtoResponse, Long, JsonPatch, NewsServiceSearchParams> {
+
+    CursorPage<NewsDtoResponse> getAllByCursor(String cursor, int size, NewsServiceSearchParams searchParams);
+
+    CursorPage<ExpandedNewsResponse> getAllByCursor(String cursor, int size, NewsServiceSearchParams searchParams,
+                                                    Collection<String> expand);
+
+    Page<NewsDtoResponse> search(String query, Pageable pageable);
+
+    Slice<ExpandedNewsResponse> getAll(Pageable pageable, NewsServiceSearchParams searchParams,
+                                       CountStrategy countStrategy, Collection<String> expand);
+
+    ExpandedNewsResponse getById(Long id, Collection<String> expand);
+
+    void exportAll(Consumer<NewsDtoResponse> consumer);
+}
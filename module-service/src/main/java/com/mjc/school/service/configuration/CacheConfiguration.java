@@ -0,0 +1,39 @@
+package com.mjc.school.service.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@Configuration
+public class CacheConfiguration {
+
+    public static final String NEWS_CACHE = "news";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.news.enabled:true}") boolean enabled,
+                                     @Value("${cache.news.maximum-size:10000}") long maximumSize,
+                                     @Value("${cache.news.expire-after-write:10m}") Duration expireAfterWrite) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(NEWS_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .softValues()
+                .recordStats());
+        // evictions issued inside a transaction must not let a concurrent reader re-cache the old state
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mjc.school.service.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+import static com.mjc.school.service.configuration.CacheConfiguration.NEWS_CACHE;
+
+@Component
+public class NewsCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public NewsCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // the cache manager is transaction-aware, so inside a transaction the eviction happens after commit
+    public void evict(Collection<Long> newsIds) {
+        Cache cache = cacheManager.getCache(NEWS_CACHE);
+        if (cache != null) {
+            newsIds.forEach(cache::evict);
+        }
+    }
+}
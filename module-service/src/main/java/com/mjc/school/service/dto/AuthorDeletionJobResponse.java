@@ -0,0 +1,14 @@
+package com.mjc.school.service.dto;
+
+import java.time.LocalDateTime;
+
+public record AuthorDeletionJobResponse(
+        Long id,
+        Long authorId,
+        String status,
+        long totalNews,
+        long purgedNews,
+        String error,
+        LocalDateTime creationDate,
+        LocalDateTime lastUpdateDate) {
+}
@@ -0,0 +1,19 @@
+package com.mjc.school.service.dto;
+
+import com.mjc.school.service.exception.ErrorCode;
+
+public record BatchItemResult<R>(
+        int index,
+        R result,
+        Integer errorCode,
+        String errorMessage,
+        String details) {
+
+    public static <R> BatchItemResult<R> success(int index, R result) {
+        return new BatchItemResult<>(index, result, null, null, null);
+    }
+
+    public static <R> BatchItemResult<R> failure(int index, ErrorCode errorCode, String details) {
+        return new BatchItemResult<>(index, null, errorCode.getId(), errorCode.getMessage(), details);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mjc.school.service.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package com.mjc.school.service.dto;
+
+import java.util.List;
+
+public record ExpandedNewsResponse(
+        NewsDtoResponse news,
+        AuthorDtoResponse author,
+        List<TagDtoResponse> tags,
+        List<CommentDtoResponse> comments) {
+}
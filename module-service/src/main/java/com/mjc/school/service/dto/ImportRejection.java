@@ -0,0 +1,8 @@
+package com.mjc.school.service.dto;
+
+public record ImportRejection(
+        long record,
+        Integer errorCode,
+        String errorMessage,
+        String details) {
+}
@@ -0,0 +1,14 @@
+package com.mjc.school.service.dto;
+
+import java.util.List;
+
+public record ImportReport(
+        long processed,
+        long imported,
+        long rejected,
+        long resumeOffset,
+        long elapsedMillis,
+        double recordsPerSecond,
+        String failure,
+        List<ImportRejection> rejections) {
+}
@@ -7,5 +7,6 @@ public record NewsDtoResponse(
         String title,
         String content,
         LocalDateTime creationDate,
-        LocalDateTime lastUpdateDate) {
+        LocalDateTime lastUpdateDate,
+        long commentCount) {
 }
@@ -0,0 +1,9 @@
+package com.mjc.school.service.dto;
+
+import java.time.LocalDateTime;
+
+public record ResourceVersion(
+        Long version,
+        LocalDateTime lastUpdateDate,
+        Long counter) {
+}
@@ -2,5 +2,6 @@ package com.mjc.school.service.dto;
 
 public record TagDtoResponse(
         Long id,
-        String name) {
+        String name,
+        long newsCount) {
 }
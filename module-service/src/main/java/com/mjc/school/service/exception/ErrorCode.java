@@ -6,6 +6,7 @@ public enum ErrorCode {
     AUTHOR_DOES_NOT_EXIST(1002, "Author does not exist (id=%s)"),
     COMMENT_DOES_NOT_EXIST(1003, "Comment does not exist (id=%s)"),
     TAG_DOES_NOT_EXIST(1004, "Tag does not exist (id=%s)"),
+    AUTHOR_DELETION_JOB_DOES_NOT_EXIST(1005, "Author deletion job does not exist (id=%s)"),
 
     APPLYING_NEWS_PATCH_PROBLEM(1010, "Applying patch to the news problem (id=%s)"),
     APPLYING_AUTHOR_PATCH_PROBLEM(1011, "Applying patch to the author problem (id=%s)"),
@@ -18,7 +19,18 @@ public enum ErrorCode {
 
     NEWS_ALREADY_EXIST(1041, "Such news already exists"),
     AUTHOR_ALREADY_EXIST(1042, "Such author already exists"),
-    TAG_ALREADY_EXIST(1043, "Such tag already exists");
+    TAG_ALREADY_EXIST(1043, "Such tag already exists"),
+
+    INVALID_CURSOR(1050, "Pagination cursor is malformed (cursor=%s)"),
+    INVALID_PAGE_SIZE(1051, "Page size must be between 1 and %s"),
+    INVALID_SEARCH_QUERY(1052, "Search query must not be blank"),
+    INVALID_BATCH_SIZE(1053, "Batch must contain between 1 and %s items"),
+    INVALID_EXPAND_VALUE(1054, "Cannot expand '%s', allowed values are author, tags and comments"),
+    INVALID_IMPORT_OFFSET(1055, "Import offset must not be negative"),
+    MALFORMED_IMPORT_RECORD(1056, "Import record cannot be parsed"),
+
+    CONCURRENT_MODIFICATION(1060, "Resource was modified concurrently, reload it and try again"),
+    AUTHOR_DELETION_IN_PROGRESS(1061, "Author is being deleted, news cannot be attached to it (name=%s)");
 
 
     private final int id;
@@ -0,0 +1,12 @@
+package com.mjc.school.service.exception;
+
+public class InvalidRequestException extends BaseException {
+
+    public InvalidRequestException(String message, int errorCode, String errorMessage) {
+        super(message, errorCode, errorMessage);
+    }
+
+    public InvalidRequestException(int errorCode, String errorMessage) {
+        super(errorCode, errorMessage);
+    }
+}
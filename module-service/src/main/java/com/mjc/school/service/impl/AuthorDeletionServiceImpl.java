@@ -0,0 +1,157 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.AuthorDeletionJobRepository;
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.entity.AuthorDeletionJobEntity;
+import com.mjc.school.repository.entity.DeletionJobStatus;
+import com.mjc.school.service.AuthorDeletionService;
+import com.mjc.school.service.configuration.NewsCacheEvictor;
+import com.mjc.school.service.dto.AuthorDeletionJobResponse;
+import com.mjc.school.service.exception.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.mjc.school.service.exception.ErrorCode.AUTHOR_DELETION_JOB_DOES_NOT_EXIST;
+import static com.mjc.school.service.exception.ErrorCode.AUTHOR_DOES_NOT_EXIST;
+import static java.lang.String.format;
+
+@Service
+public class AuthorDeletionServiceImpl implements AuthorDeletionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthorDeletionServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_PURGE_ROUNDS = 3;
+
+    private final AuthorRepository authorRepository;
+    private final NewsRepository newsRepository;
+    private final AuthorDeletionJobRepository jobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final NewsCacheEvictor newsCacheEvictor;
+    private final Duration staleAfter;
+
+    @Autowired
+    public AuthorDeletionServiceImpl(AuthorRepository authorRepository, NewsRepository newsRepository,
+                                     AuthorDeletionJobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                     TaskExecutor taskExecutor, NewsCacheEvictor newsCacheEvictor,
+                                     @Value("${author.deletion.stale-after:5m}") Duration staleAfter) {
+        this.authorRepository = authorRepository;
+        this.newsRepository = newsRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.newsCacheEvictor = newsCacheEvictor;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public AuthorDeletionJobResponse requestDeletion(Long authorId) {
+        return transactionTemplate.execute(status -> {
+            if (!authorRepository.existById(authorId)) {
+                throw new NotFoundException(AUTHOR_DOES_NOT_EXIST.getId(), format(AUTHOR_DOES_NOT_EXIST.getMessage(), authorId));
+            }
+            if (!authorRepository.markForDeletion(authorId)) {
+                AuthorDeletionJobEntity running = jobRepository.getUnfinishedByAuthorId(authorId).orElse(null);
+                if (running != null) {
+                    return toResponse(running);
+                }
+            }
+
+            AuthorDeletionJobEntity job = jobRepository.create(
+                    new AuthorDeletionJobEntity(authorId, authorRepository.getNewsAmount(authorId)));
+            Long jobId = job.getId();
+            // the news is hidden from now on, so cached copies must not outlive the commit
+            newsCacheEvictor.evict(newsRepository.getIdsByAuthorId(authorId));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    taskExecutor.execute(() -> purge(jobId, authorId));
+                }
+            });
+            return toResponse(job);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public AuthorDeletionJobResponse getJobById(Long id) {
+        return jobRepository.getById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NotFoundException(AUTHOR_DELETION_JOB_DOES_NOT_EXIST.getId(),
+                        format(AUTHOR_DELETION_JOB_DOES_NOT_EXIST.getMessage(), id)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<AuthorDeletionJobEntity> jobs = transactionTemplate.execute(status -> jobRepository.getAllUnfinished());
+        jobs.forEach(job -> taskExecutor.execute(() -> purge(job.getId(), job.getAuthorId())));
+    }
+
+    private void purge(Long jobId, Long authorId) {
+        // a RUNNING job is only taken over once its owner stopped reporting progress
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> jobRepository.claim(jobId, staleBefore)))) {
+            return;
+        }
+        try {
+            for (int round = 0; !deleteAuthorIfHasNoNews(jobId, authorId); round++) {
+                if (round == MAX_PURGE_ROUNDS) {
+                    throw new IllegalStateException(format("Author %s still has news after %s purge rounds", authorId, round));
+                }
+                purgeNews(jobId, authorId);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Deletion job {} of author {} failed", jobId, authorId, e);
+            String error = String.valueOf(e.getMessage());
+            String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+            transactionTemplate.executeWithoutResult(status -> jobRepository.updateStatus(jobId, DeletionJobStatus.FAILED, truncated));
+        }
+    }
+
+    private void purgeNews(Long jobId, Long authorId) {
+        int purged;
+        do {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> deleted = newsRepository.deleteChunkByAuthorId(authorId, CHUNK_SIZE);
+                jobRepository.addPurgedNews(jobId, deleted.size());
+                return deleted;
+            });
+            newsCacheEvictor.evict(ids);
+            purged = ids.size();
+        } while (purged == CHUNK_SIZE);
+    }
+
+    private boolean deleteAuthorIfHasNoNews(Long jobId, Long authorId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!authorRepository.deleteIfHasNoNews(authorId) && authorRepository.existById(authorId)) {
+                return false;
+            }
+            jobRepository.updateStatus(jobId, DeletionJobStatus.COMPLETED, null);
+            return true;
+        }));
+    }
+
+    private AuthorDeletionJobResponse toResponse(AuthorDeletionJobEntity job) {
+        return new AuthorDeletionJobResponse(job.getId(), job.getAuthorId(), job.getStatus().name(), job.getTotalNews(),
+                job.getPurgedNews(), job.getError(), job.getCreationDate(), job.getLastUpdateDate());
+    }
+}
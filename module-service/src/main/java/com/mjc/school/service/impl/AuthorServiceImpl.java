@@ -7,22 +7,33 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.dto.AuthorWithNews;
 import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.query.AuthorNewsCountCursor;
 import com.mjc.school.repository.query.AuthorRepositorySearchParams;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.service.AuthorService;
+import com.mjc.school.service.configuration.NewsCacheEvictor;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
 import com.mjc.school.service.dto.AuthorWithNewsResponse;
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.ResourceVersion;
 import com.mjc.school.service.exception.AlreadyExistException;
+import com.mjc.school.service.exception.InvalidRequestException;
 import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.exception.PatchApplyException;
 import com.mjc.school.service.mapper.AuthorMapper;
 import com.mjc.school.service.query.AuthorServiceSearchParams;
+import com.mjc.school.service.query.CountStrategy;
+import com.mjc.school.service.query.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,16 +41,20 @@ import javax.validation.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.mjc.school.service.exception.ErrorCode.*;
+import static com.mjc.school.service.validation.ValidationConstants.PAGE_MAX_SIZE;
 import static java.lang.String.format;
 
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final NewsRepository newsRepository;
 
     private final AuthorMapper authorMapper;
+    private final NewsCacheEvictor newsCacheEvictor;
 
     private final ObjectMapper objectMapper = new ObjectMapper()
             .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
@@ -48,13 +63,15 @@ public class AuthorServiceImpl implements AuthorService {
     private final Validator springValidator;
 
     @Autowired
-    public AuthorServiceImpl(AuthorRepository authorRepository, AuthorMapper authorMapper) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, NewsRepository newsRepository, AuthorMapper authorMapper,
+                             NewsCacheEvictor newsCacheEvictor) {
         this.authorMapper = authorMapper;
+        this.newsCacheEvictor = newsCacheEvictor;
         try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
             springValidator = validatorFactory.usingContext().getValidator();
         }
         this.authorRepository = authorRepository;
-
+        this.newsRepository = newsRepository;
     }
 
     @Transactional(readOnly = true)
@@ -67,16 +84,35 @@ public class AuthorServiceImpl implements AuthorService {
         return new PageImpl<>(authorDtoResponses, pageable, authorEntityPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<AuthorDtoResponse> getAll(Pageable pageable, AuthorServiceSearchParams serviceParams, CountStrategy countStrategy) {
+        validateConstraintsOrThrowException(serviceParams);
+        AuthorRepositorySearchParams repositoryParams = authorMapper.serviceParamsToRepositoryParams(serviceParams);
+
+        Slice<AuthorEntity> authorEntitySlice = authorRepository.getAll(pageable, repositoryParams, CountMode.valueOf(countStrategy.name()));
+        return authorEntitySlice.map(authorMapper::entityToDtoResponse);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public AuthorDtoResponse getById(Long id) {
         AuthorEntity entity = authorRepository.getById(id)
+                .filter(author -> !author.isDeletionRequested())
                 .orElseThrow(() -> new NotFoundException(AUTHOR_DOES_NOT_EXIST.getId(),
                         format(AUTHOR_DOES_NOT_EXIST.getMessage(), id)));
 
         return authorMapper.entityToDtoResponse(entity);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        return authorRepository.getVersionById(id)
+                .map(version -> new ResourceVersion(version.version(), version.lastUpdateDate(), version.counter()))
+                .orElseThrow(() -> new NotFoundException(AUTHOR_DOES_NOT_EXIST.getId(), format(AUTHOR_DOES_NOT_EXIST.getMessage(), id)));
+    }
+
     @Transactional
     @Override
     public AuthorDtoResponse create(AuthorDtoRequest createRequest) {
@@ -89,10 +125,25 @@ public class AuthorServiceImpl implements AuthorService {
         return authorMapper.entityToDtoResponse(createdAuthor);
     }
 
+    @Transactional
+    @Override
+    public List<BatchItemResult<AuthorDtoResponse>> createAll(List<AuthorDtoRequest> createRequests) {
+        BatchCreation<AuthorDtoRequest, AuthorDtoResponse> batch = new BatchCreation<>(createRequests, springValidator);
+        batch.rejectDuplicates(AuthorDtoRequest::name, AUTHOR_ALREADY_EXIST);
+
+        Set<String> existingNames = authorRepository.getAllByName(batch.pendingRequests().stream().map(AuthorDtoRequest::name).toList())
+                .stream().map(author -> author.getName().toLowerCase()).collect(Collectors.toSet());
+        batch.rejectIf(request -> existingNames.contains(request.name().toLowerCase()), AUTHOR_ALREADY_EXIST,
+                request -> AUTHOR_ALREADY_EXIST.getMessage());
+
+        return batch.complete(authorMapper::dtoRequestToEntity, authorRepository::createAll, authorMapper::entityToDtoResponse);
+    }
+
     @Transactional
     @Override
     public AuthorDtoResponse update(Long id, JsonPatch patch) {
-        Optional<AuthorEntity> maybeNullEntity = authorRepository.getById(id);
+        Optional<AuthorEntity> maybeNullEntity = authorRepository.getById(id)
+                .filter(author -> !author.isDeletionRequested());
         if (maybeNullEntity.isEmpty()) {
             throw new NotFoundException(AUTHOR_DOES_NOT_EXIST.getId(), format(AUTHOR_DOES_NOT_EXIST.getMessage(), id));
         }
@@ -121,6 +172,7 @@ public class AuthorServiceImpl implements AuthorService {
         if (!authorRepository.existById(id)) {
             throw new NotFoundException(AUTHOR_DOES_NOT_EXIST.getId(), format(AUTHOR_DOES_NOT_EXIST.getMessage(), id));
         }
+        newsCacheEvictor.evict(newsRepository.deleteAllByAuthorId(id));
         return authorRepository.deleteById(id);
     }
 
@@ -140,6 +192,39 @@ public class AuthorServiceImpl implements AuthorService {
         return new PageImpl<>(content, pageable, authorPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<AuthorWithNewsResponse> getWithNewsAmountByCursor(String cursor, int size) {
+        if (size < 1 || size > PAGE_MAX_SIZE) {
+            throw new InvalidRequestException(INVALID_PAGE_SIZE.getId(), format(INVALID_PAGE_SIZE.getMessage(), PAGE_MAX_SIZE));
+        }
+
+        List<AuthorWithNews> authors = authorRepository.getWithNewsAmountAfter(decodeCursor(cursor), size + 1);
+        boolean hasNext = authors.size() > size;
+        List<AuthorWithNews> pageAuthors = hasNext ? authors.subList(0, size) : authors;
+
+        String nextCursor = null;
+        if (hasNext) {
+            AuthorWithNews last = pageAuthors.get(pageAuthors.size() - 1);
+            nextCursor = CursorCodec.encode(last.numberOfNews(), last.id());
+        }
+        List<AuthorWithNewsResponse> content = pageAuthors.stream()
+                .map(a -> new AuthorWithNewsResponse(a.id(), a.name(), a.numberOfNews().intValue())).toList();
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    private AuthorNewsCountCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new AuthorNewsCountCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw CursorCodec.invalidCursor(cursor);
+        }
+    }
+
     private <T> void validateConstraintsOrThrowException(T object) {
         Set<ConstraintViolation<T>> constraintViolations = springValidator.validate(object);
         if (!constraintViolations.isEmpty()) {
@@ -0,0 +1,80 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.exception.ErrorCode;
+import com.mjc.school.service.exception.InvalidRequestException;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static com.mjc.school.service.exception.ErrorCode.ENTITY_VALIDATION_FAILED;
+import static com.mjc.school.service.exception.ErrorCode.INVALID_BATCH_SIZE;
+import static com.mjc.school.service.validation.ValidationConstants.BATCH_MAX_SIZE;
+import static java.lang.String.format;
+
+class BatchCreation<Q, R> {
+
+    private final List<Q> requests;
+    private final List<BatchItemResult<R>> results;
+
+    BatchCreation(List<Q> requests, Validator validator) {
+        if (requests == null || requests.isEmpty() || requests.size() > BATCH_MAX_SIZE) {
+            throw new InvalidRequestException(INVALID_BATCH_SIZE.getId(), format(INVALID_BATCH_SIZE.getMessage(), BATCH_MAX_SIZE));
+        }
+        this.requests = requests;
+        this.results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        for (int i = 0; i < requests.size(); i++) {
+            Q request = requests.get(i);
+            if (request == null) {
+                results.set(i, BatchItemResult.failure(i, ENTITY_VALIDATION_FAILED, "request must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<Q>> constraintViolations = validator.validate(request);
+            if (!constraintViolations.isEmpty()) {
+                results.set(i, BatchItemResult.failure(i, ENTITY_VALIDATION_FAILED,
+                        new ConstraintViolationException(constraintViolations).getMessage()));
+            }
+        }
+    }
+
+    List<Q> pendingRequests() {
+        return pendingIndexes().stream().map(requests::get).toList();
+    }
+
+    void rejectDuplicates(Function<Q, String> key, ErrorCode errorCode) {
+        Set<String> seen = new HashSet<>();
+        rejectIf(request -> !seen.add(key.apply(request).toLowerCase()), errorCode, request -> errorCode.getMessage());
+    }
+
+    void rejectIf(Predicate<Q> condition, ErrorCode errorCode, Function<Q, String> details) {
+        for (int i : pendingIndexes()) {
+            Q request = requests.get(i);
+            if (condition.test(request)) {
+                results.set(i, BatchItemResult.failure(i, errorCode, details.apply(request)));
+            }
+        }
+    }
+
+    <E> List<BatchItemResult<R>> complete(Function<Q, E> toEntity, Function<List<E>, List<E>> createAll,
+                                          Function<E, R> toResponse) {
+        List<Integer> pending = pendingIndexes();
+        if (!pending.isEmpty()) {
+            List<E> created = createAll.apply(pending.stream().map(i -> toEntity.apply(requests.get(i))).toList());
+            for (int j = 0; j < pending.size(); j++) {
+                int index = pending.get(j);
+                results.set(index, BatchItemResult.success(index, toResponse.apply(created.get(j))));
+            }
+        }
+        return results;
+    }
+
+    private List<Integer> pendingIndexes() {
+        return IntStream.range(0, requests.size()).filter(i -> results.get(i) == null).boxed().toList();
+    }
+}
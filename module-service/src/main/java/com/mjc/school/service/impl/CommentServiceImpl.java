@@ -9,18 +9,25 @@ import com.github.fge.jsonpatch.JsonPatchException;
 import com.mjc.school.repository.CommentRepository;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.entity.CommentEntity;
+import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.query.CommentRepositorySearchParams;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.service.CommentService;
+import com.mjc.school.service.configuration.NewsCacheEvictor;
+import com.mjc.school.service.dto.BatchItemResult;
 import com.mjc.school.service.dto.CommentDtoRequest;
 import com.mjc.school.service.dto.CommentDtoResponse;
+import com.mjc.school.service.dto.ResourceVersion;
 import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.exception.PatchApplyException;
 import com.mjc.school.service.mapper.CommentMapper;
 import com.mjc.school.service.query.CommentServiceSearchParams;
+import com.mjc.school.service.query.CountStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +35,7 @@ import javax.validation.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.mjc.school.service.exception.ErrorCode.*;
 import static java.lang.String.format;
@@ -39,6 +47,7 @@ public class CommentServiceImpl implements CommentService {
     private final NewsRepository newsRepository;
 
     private final CommentMapper commentMapper;
+    private final NewsCacheEvictor newsCacheEvictor;
 
     private final ObjectMapper objectMapper = new ObjectMapper()
             .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
@@ -47,13 +56,15 @@ public class CommentServiceImpl implements CommentService {
     private final Validator springValidator;
 
     @Autowired
-    public CommentServiceImpl(CommentRepository commentRepository, NewsRepository newsRepository, CommentMapper commentMapper) {
+    public CommentServiceImpl(CommentRepository commentRepository, NewsRepository newsRepository, CommentMapper commentMapper,
+                              NewsCacheEvictor newsCacheEvictor) {
         try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
             springValidator = validatorFactory.usingContext().getValidator();
         }
         this.commentMapper = commentMapper;
         this.commentRepository = commentRepository;
         this.newsRepository = newsRepository;
+        this.newsCacheEvictor = newsCacheEvictor;
     }
 
     @Transactional(readOnly = true)
@@ -67,6 +78,16 @@ public class CommentServiceImpl implements CommentService {
         return new PageImpl<>(commentDtoResponses, pageable, commentEntityPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<CommentDtoResponse> getAll(Pageable pageable, CommentServiceSearchParams serviceParams, CountStrategy countStrategy) {
+        validateConstraintsOrThrowException(serviceParams);
+        CommentRepositorySearchParams repositoryParams = commentMapper.serviceParamsToRepositoryParams(serviceParams);
+
+        Slice<CommentEntity> commentEntitySlice = commentRepository.getAll(pageable, repositoryParams, CountMode.valueOf(countStrategy.name()));
+        return commentEntitySlice.map(commentMapper::entityToDtoResponse);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public CommentDtoResponse getById(Long id) {
@@ -76,16 +97,39 @@ public class CommentServiceImpl implements CommentService {
         return commentMapper.entityToDtoResponse(entity);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        return commentRepository.getVersionById(id)
+                .map(version -> new ResourceVersion(version.version(), version.lastUpdateDate(), version.counter()))
+                .orElseThrow(() -> new NotFoundException(COMMENT_DOES_NOT_EXIST.getId(), format(COMMENT_DOES_NOT_EXIST.getMessage(), id)));
+    }
+
     @Transactional
     @Override
     public CommentDtoResponse create(CommentDtoRequest createRequest) {
         newsExistOrThrowException(createRequest.newsId());
         validateConstraintsOrThrowException(createRequest);
+        newsCacheEvictor.evict(List.of(createRequest.newsId()));
 
         CommentEntity createdComment = commentRepository.create(commentMapper.dtoRequestToEntity(createRequest));
         return commentMapper.entityToDtoResponse(createdComment);
     }
 
+    @Transactional
+    @Override
+    public List<BatchItemResult<CommentDtoResponse>> createAll(List<CommentDtoRequest> createRequests) {
+        BatchCreation<CommentDtoRequest, CommentDtoResponse> batch = new BatchCreation<>(createRequests, springValidator);
+
+        List<Long> newsIds = batch.pendingRequests().stream().map(CommentDtoRequest::newsId).distinct().toList();
+        Set<Long> existingNewsIds = newsRepository.getAllById(newsIds).stream().map(NewsEntity::getId).collect(Collectors.toSet());
+        batch.rejectIf(request -> !existingNewsIds.contains(request.newsId()), NEWS_DOES_NOT_EXIST,
+                request -> format(NEWS_DOES_NOT_EXIST.getMessage(), request.newsId()));
+        newsCacheEvictor.evict(existingNewsIds);
+
+        return batch.complete(commentMapper::dtoRequestToEntity, commentRepository::createAll, commentMapper::entityToDtoResponse);
+    }
+
     @Transactional
     @Override
     public CommentDtoResponse update(Long id, JsonPatch patch) {
@@ -114,9 +158,9 @@ public class CommentServiceImpl implements CommentService {
     @Transactional
     @Override
     public boolean deleteById(Long id) {
-        if (!commentRepository.existById(id)) {
-            throw new NotFoundException(COMMENT_DOES_NOT_EXIST.getId(), format(COMMENT_DOES_NOT_EXIST.getMessage(), id));
-        }
+        Long newsId = commentRepository.getNewsIdById(id)
+                .orElseThrow(() -> new NotFoundException(COMMENT_DOES_NOT_EXIST.getId(), format(COMMENT_DOES_NOT_EXIST.getMessage(), id)));
+        newsCacheEvictor.evict(List.of(newsId));
         return commentRepository.deleteById(id);
     }
 
@@ -0,0 +1,81 @@
+package com.mjc.school.service.impl;
+
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.entity.NewsEntity;
+import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.NewsDtoRequest;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.mjc.school.service.exception.ErrorCode.AUTHOR_DELETION_IN_PROGRESS;
+import static com.mjc.school.service.exception.ErrorCode.NEWS_ALREADY_EXIST;
+import static java.lang.String.format;
+
+class NewsBatchCreator {
+
+    private final NewsRepository newsRepository;
+    private final AuthorRepository authorRepository;
+    private final TagRepository tagRepository;
+    private final Validator validator;
+
+    NewsBatchCreator(NewsRepository newsRepository, AuthorRepository authorRepository,
+                     TagRepository tagRepository, Validator validator) {
+        this.newsRepository = newsRepository;
+        this.authorRepository = authorRepository;
+        this.tagRepository = tagRepository;
+        this.validator = validator;
+    }
+
+    // authors and tags are keyed by lower-case name; resolved ones are added, so callers may reuse the maps
+    <R> List<BatchItemResult<R>> createAll(List<NewsDtoRequest> requests, Map<String, AuthorEntity> authors,
+                                           Map<String, TagEntity> tags, Function<NewsEntity, R> toResponse) {
+        BatchCreation<NewsDtoRequest, R> batch = new BatchCreation<>(requests, validator);
+        batch.rejectDuplicates(NewsDtoRequest::title, NEWS_ALREADY_EXIST);
+
+        Set<String> existingTitles = newsRepository.getExistingTitles(batch.pendingRequests().stream().map(NewsDtoRequest::title).toList());
+        batch.rejectIf(request -> existingTitles.contains(request.title().toLowerCase()), NEWS_ALREADY_EXIST,
+                request -> NEWS_ALREADY_EXIST.getMessage());
+
+        List<NewsDtoRequest> pending = batch.pendingRequests();
+        resolve(authors, pending.stream().map(NewsDtoRequest::authorName), authorRepository::getOrCreateAll, AuthorEntity::getName);
+        Set<Long> markedAuthorIds = authorRepository.lockAndGetMarkedForDeletion(pending.stream()
+                .map(request -> authors.get(request.authorName().toLowerCase()).getId()).distinct().toList());
+        batch.rejectIf(request -> markedAuthorIds.contains(authors.get(request.authorName().toLowerCase()).getId()),
+                AUTHOR_DELETION_IN_PROGRESS, request -> format(AUTHOR_DELETION_IN_PROGRESS.getMessage(), request.authorName()));
+
+        pending = batch.pendingRequests();
+        resolve(tags, pending.stream().map(NewsDtoRequest::tagNames).filter(Objects::nonNull).flatMap(List::stream),
+                tagRepository::getOrCreateAll, TagEntity::getName);
+
+        return batch.complete(request -> NewsEntity.newBuilder()
+                        .setTitle(request.title())
+                        .setContent(request.content())
+                        .setAuthor(authors.get(request.authorName().toLowerCase()))
+                        .setTags(request.tagNames() == null ? new ArrayList<>() : request.tagNames().stream()
+                                .map(name -> tags.get(name.toLowerCase()))
+                                .distinct()
+                                .collect(Collectors.toCollection(ArrayList::new)))
+                        .build(),
+                newsRepository::createAll, toResponse);
+    }
+
+    private static <E> void resolve(Map<String, E> dictionary, Stream<String> names,
+                                    Function<List<String>, List<E>> getOrCreateAll, Function<E, String> nameOf) {
+        List<String> missing = names.filter(name -> !dictionary.containsKey(name.toLowerCase())).distinct().toList();
+        if (!missing.isEmpty()) {
+            getOrCreateAll.apply(missing).forEach(entity -> dictionary.put(nameOf.apply(entity).toLowerCase(), entity));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.mjc.school.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
+import com.mjc.school.repository.TagRepository;
+import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.entity.NewsEntity;
+import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.service.NewsImportService;
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.ImportRejection;
+import com.mjc.school.service.dto.ImportReport;
+import com.mjc.school.service.dto.NewsDtoRequest;
+import com.mjc.school.service.exception.InvalidRequestException;
+import com.mjc.school.service.query.ImportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.mjc.school.service.exception.ErrorCode.*;
+
+@Service
+public class NewsImportServiceImpl implements NewsImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader().withArrayElementSeparator(";");
+
+    private final NewsRepository newsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final NewsBatchCreator newsBatchCreator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    public NewsImportServiceImpl(NewsRepository newsRepository, AuthorRepository authorRepository,
+                                 TagRepository tagRepository, PlatformTransactionManager transactionManager) {
+        Validator springValidator;
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            springValidator = validatorFactory.usingContext().getValidator();
+        }
+        this.newsRepository = newsRepository;
+        this.newsBatchCreator = new NewsBatchCreator(newsRepository, authorRepository, tagRepository, springValidator);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ImportReport importNews(InputStream input, ImportFormat format, long offset) {
+        if (offset < 0) {
+            throw new InvalidRequestException(INVALID_IMPORT_OFFSET.getId(), INVALID_IMPORT_OFFSET.getMessage());
+        }
+        long started = System.nanoTime();
+        ImportState state = new ImportState(offset);
+
+        String failure = null;
+        try {
+            Iterator<ParsedRecord> records = format == ImportFormat.CSV ? csvRecords(input, offset) : ndjsonRecords(input, offset);
+            List<ParsedRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (records.hasNext()) {
+                ParsedRecord record = records.next();
+                if (record == null) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, state);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e.getMessage();
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        return new ImportReport(state.processed, state.imported, state.rejected, state.resumeOffset,
+                elapsedMillis, state.processed * 1000.0 / elapsedMillis, failure, state.rejections);
+    }
+
+    private void importChunk(List<ParsedRecord> chunk, ImportState state) {
+        List<ParsedRecord> parsed = chunk.stream().filter(record -> record.request() != null).toList();
+        List<BatchItemResult<Long>> results = parsed.isEmpty() ? List.of() : transactionTemplate.execute(status ->
+                newsBatchCreator.createAll(parsed.stream().map(ParsedRecord::request).toList(),
+                        state.authors, state.tags, NewsEntity::getId));
+        newsRepository.detachAll();
+
+        chunk.stream().filter(record -> record.request() == null).forEach(record -> state.reject(new ImportRejection(
+                record.position(), MALFORMED_IMPORT_RECORD.getId(), MALFORMED_IMPORT_RECORD.getMessage(), record.error())));
+        for (BatchItemResult<Long> result : results) {
+            if (result.errorCode() == null) {
+                state.imported++;
+            } else {
+                state.reject(new ImportRejection(parsed.get(result.index()).position(),
+                        result.errorCode(), result.errorMessage(), result.details()));
+            }
+        }
+        state.processed += chunk.size();
+        state.resumeOffset = chunk.get(chunk.size() - 1).position() + 1;
+    }
+
+    private Iterator<ParsedRecord> ndjsonRecords(InputStream input, long offset) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long[] position = {offset};
+        return reader.lines().skip(offset).map(line -> parseLine(position[0]++, line)).iterator();
+    }
+
+    private ParsedRecord parseLine(long position, String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return new ParsedRecord(position, objectMapper.readValue(line, NewsDtoRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new ParsedRecord(position, null, e.getOriginalMessage());
+        }
+    }
+
+    private Iterator<ParsedRecord> csvRecords(InputStream input, long offset) throws IOException {
+        MappingIterator<NewsDtoRequest> rows = csvMapper.readerFor(NewsDtoRequest.class).with(CSV_SCHEMA).readValues(input);
+        return new Iterator<>() {
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public ParsedRecord next() {
+                long current = position++;
+                try {
+                    NewsDtoRequest request = rows.next();
+                    return current < offset ? null : new ParsedRecord(current, request, null);
+                } catch (RuntimeJsonMappingException e) {
+                    return current < offset ? null : new ParsedRecord(current, null, e.getMessage());
+                }
+            }
+        };
+    }
+
+    private record ParsedRecord(long position, NewsDtoRequest request, String error) {
+    }
+
+    private static class ImportState {
+
+        private final Map<String, AuthorEntity> authors = new HashMap<>();
+        private final Map<String, TagEntity> tags = new HashMap<>();
+        private final List<ImportRejection> rejections = new ArrayList<>();
+
+        private long processed;
+        private long imported;
+        private long rejected;
+        private long resumeOffset;
+
+        private ImportState(long offset) {
+            this.resumeOffset = offset;
+        }
+
+        private void reject(ImportRejection rejection) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(rejection);
+            }
+        }
+    }
+}
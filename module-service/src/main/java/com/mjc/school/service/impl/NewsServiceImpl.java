@@ -7,44 +7,72 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.CommentRepository;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.AuthorEntity;
+import com.mjc.school.repository.entity.CommentEntity;
 import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
+import com.mjc.school.repository.query.NewsKeysetCursor;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
-import com.mjc.school.service.BaseService;
+import com.mjc.school.service.NewsService;
+import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.CursorPage;
+import com.mjc.school.service.dto.ExpandedNewsResponse;
 import com.mjc.school.service.dto.NewsDtoRequest;
 import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.dto.ResourceVersion;
 import com.mjc.school.service.exception.AlreadyExistException;
+import com.mjc.school.service.exception.InvalidRequestException;
 import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.exception.PatchApplyException;
+import com.mjc.school.service.mapper.AuthorMapper;
+import com.mjc.school.service.mapper.CommentMapper;
 import com.mjc.school.service.mapper.NewsMapper;
+import com.mjc.school.service.mapper.TagMapper;
+import com.mjc.school.service.query.CountStrategy;
+import com.mjc.school.service.query.CursorCodec;
+import com.mjc.school.service.query.NewsExpansion;
 import com.mjc.school.service.query.NewsServiceSearchParams;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.*;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.mjc.school.service.configuration.CacheConfiguration.NEWS_CACHE;
 import static com.mjc.school.service.exception.ErrorCode.*;
+import static com.mjc.school.service.validation.ValidationConstants.PAGE_MAX_SIZE;
 import static java.lang.String.format;
 
 @Service
-public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoResponse, Long, JsonPatch, NewsServiceSearchParams> {
+public class NewsServiceImpl implements NewsService {
 
     private final NewsRepository newsRepository;
     private final AuthorRepository authorRepository;
     private final TagRepository tagRepository;
+    private final CommentRepository commentRepository;
 
     private final NewsMapper newsMapper;
+    private final AuthorMapper authorMapper;
+    private final TagMapper tagMapper;
+    private final CommentMapper commentMapper;
     private final Validator springValidator;
+    private final NewsBatchCreator newsBatchCreator;
 
     private final ObjectMapper objectMapper = new ObjectMapper()
             .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
@@ -52,31 +80,92 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
 
     @Autowired
     public NewsServiceImpl(NewsRepository newsRepository, AuthorRepository authorRepository,
-                           TagRepository tagRepository, NewsMapper newsMapper) {
+                           TagRepository tagRepository, CommentRepository commentRepository,
+                           NewsMapper newsMapper, AuthorMapper authorMapper, TagMapper tagMapper, CommentMapper commentMapper) {
         try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
             springValidator = validatorFactory.usingContext().getValidator();
         }
         this.newsMapper = newsMapper;
+        this.authorMapper = authorMapper;
+        this.tagMapper = tagMapper;
+        this.commentMapper = commentMapper;
         this.newsRepository = newsRepository;
         this.authorRepository = authorRepository;
         this.tagRepository = tagRepository;
+        this.commentRepository = commentRepository;
+        this.newsBatchCreator = new NewsBatchCreator(newsRepository, authorRepository, tagRepository, springValidator);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Page<NewsDtoResponse> getAll(Pageable pageable, NewsServiceSearchParams serviceParams) {
-        validateConstraintsOrThrowException(serviceParams);
-        if (serviceParams.tagIds() != null) {
-            tagsExistOrThrowException(serviceParams.tagIds());
+        return (Page<NewsDtoResponse>) getAll(pageable, serviceParams, CountStrategy.EXACT);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<NewsDtoResponse> getAllByCursor(String cursor, int size, NewsServiceSearchParams serviceParams) {
+        CursorPage<ExpandedNewsResponse> page = getAllByCursor(cursor, size, serviceParams, List.of());
+        return new CursorPage<>(page.content().stream().map(ExpandedNewsResponse::news).toList(), page.nextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<ExpandedNewsResponse> getAllByCursor(String cursor, int size, NewsServiceSearchParams serviceParams,
+                                                           Collection<String> expand) {
+        if (size < 1 || size > PAGE_MAX_SIZE) {
+            throw new InvalidRequestException(INVALID_PAGE_SIZE.getId(), format(INVALID_PAGE_SIZE.getMessage(), PAGE_MAX_SIZE));
         }
+        Set<NewsExpansion> expansions = parseExpansions(expand);
+        NewsRepositorySearchParams repositoryParams = toRepositoryParams(serviceParams);
+        NewsKeysetCursor keysetCursor = decodeCursor(cursor);
+
+        List<NewsEntity> entities = newsRepository.getAllAfter(keysetCursor, size + 1, repositoryParams);
+        boolean hasNext = entities.size() > size;
+        List<NewsEntity> pageEntities = hasNext ? entities.subList(0, size) : entities;
 
-        NewsRepositorySearchParams repositoryParams = newsMapper.serviceParamsToRepositoryParams(serviceParams);
+        String nextCursor = null;
+        if (hasNext) {
+            NewsEntity last = pageEntities.get(pageEntities.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreationDate(), last.getId());
+        }
+        return new CursorPage<>(pageEntities.stream().map(expander(pageEntities, expansions)).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<NewsDtoResponse> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException(INVALID_SEARCH_QUERY.getId(), INVALID_SEARCH_QUERY.getMessage());
+        }
 
-        Page<NewsEntity> newsEntityPage = newsRepository.getAll(pageable, repositoryParams);
-        List<NewsDtoResponse> newsDtoResponses = newsMapper.listOfEntitiesToListOfResponses(newsEntityPage.getContent());
-        return new PageImpl<>(newsDtoResponses, pageable, newsEntityPage.getTotalElements());
+        return newsRepository.search(query.strip(), pageable).map(newsMapper::entityToDtoResponse);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<NewsDtoResponse> getAll(Pageable pageable, NewsServiceSearchParams serviceParams, CountStrategy countStrategy) {
+        return getAll(pageable, serviceParams, countStrategy, List.of()).map(ExpandedNewsResponse::news);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<ExpandedNewsResponse> getAll(Pageable pageable, NewsServiceSearchParams serviceParams,
+                                              CountStrategy countStrategy, Collection<String> expand) {
+        Set<NewsExpansion> expansions = parseExpansions(expand);
+        NewsRepositorySearchParams repositoryParams = toRepositoryParams(serviceParams);
+
+        Slice<NewsEntity> newsEntitySlice = newsRepository.getAll(pageable, repositoryParams, CountMode.valueOf(countStrategy.name()));
+        return newsEntitySlice.map(expander(newsEntitySlice.getContent(), expansions));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<NewsDtoResponse> consumer) {
+        newsRepository.scrollAll(entity -> consumer.accept(newsMapper.entityToDtoResponse(entity)));
+    }
+
+    @Cacheable(cacheNames = NEWS_CACHE, key = "#id")
     @Transactional(readOnly = true)
     @Override
     public NewsDtoResponse getById(Long id) {
@@ -86,6 +175,24 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
         return newsMapper.entityToDtoResponse(entity);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ExpandedNewsResponse getById(Long id, Collection<String> expand) {
+        Set<NewsExpansion> expansions = parseExpansions(expand);
+        NewsEntity entity = newsRepository.getById(id)
+                .orElseThrow(() -> new NotFoundException(NEWS_DOES_NOT_EXIST.getId(), format(NEWS_DOES_NOT_EXIST.getMessage(), id)));
+
+        return expander(List.of(entity), expansions).apply(entity);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        return newsRepository.getVersionById(id)
+                .map(version -> new ResourceVersion(version.version(), version.lastUpdateDate(), version.counter()))
+                .orElseThrow(() -> new NotFoundException(NEWS_DOES_NOT_EXIST.getId(), format(NEWS_DOES_NOT_EXIST.getMessage(), id)));
+    }
+
     @Transactional
     @Override
     public NewsDtoResponse create(NewsDtoRequest createRequest) {
@@ -94,16 +201,24 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
         }
         validateConstraintsOrThrowException(createRequest);
         createAuthorIfNotExists(createRequest.authorName());
-        createTagsIfNotExist(createRequest.tagNames());
 
-        NewsEntity createdNews = newsRepository.create(newsMapper.dtoRequestToEntity(createRequest));
+        NewsEntity news = newsMapper.dtoRequestToEntity(createRequest);
+        authorNotMarkedForDeletionOrThrowException(news.getAuthor());
+        NewsEntity createdNews = newsRepository.create(news);
         return newsMapper.entityToDtoResponse(createdNews);
     }
 
+    @Transactional
+    @Override
+    public List<BatchItemResult<NewsDtoResponse>> createAll(List<NewsDtoRequest> createRequests) {
+        return newsBatchCreator.createAll(createRequests, new HashMap<>(), new HashMap<>(), newsMapper::entityToDtoResponse);
+    }
+
+    @CacheEvict(cacheNames = NEWS_CACHE, key = "#id")
     @Transactional
     @Override
     public NewsDtoResponse update(Long id, JsonPatch patch) {
-        Optional<NewsEntity> maybeNullEntity = newsRepository.getById(id);
+        Optional<NewsEntity> maybeNullEntity = newsRepository.getByIdWithAuthorAndTags(id);
         if (maybeNullEntity.isEmpty()) {
             throw new NotFoundException(NEWS_DOES_NOT_EXIST.getId(), format(NEWS_DOES_NOT_EXIST.getMessage(), id));
         }
@@ -115,9 +230,9 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
 
             validateConstraintsOrThrowException(patchedNews);
             createAuthorIfNotExists(patchedNews.authorName());
-            createTagsIfNotExist(patchedNews.tagNames());
 
             NewsEntity entity = newsMapper.dtoRequestToEntity(patchedNews);
+            authorNotMarkedForDeletionOrThrowException(entity.getAuthor());
             entity.setId(id);
             NewsEntity updateResult = newsRepository.update(entity);
             return newsMapper.entityToDtoResponse(updateResult);
@@ -128,6 +243,7 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
         }
     }
 
+    @CacheEvict(cacheNames = NEWS_CACHE, key = "#id")
     @Transactional
     @Override
     public boolean deleteById(Long id) {
@@ -152,19 +268,77 @@ public class NewsServiceImpl implements BaseService<NewsDtoRequest, NewsDtoRespo
         }
     }
 
-    private void createTagsIfNotExist(List<String> tagNames) {
-        tagNames.forEach(name -> {
-            if (!tagRepository.existByName(name)) {
-                tagRepository.create(new TagEntity(null, name));
+    private void authorNotMarkedForDeletionOrThrowException(AuthorEntity author) {
+        if (!authorRepository.lockAndGetMarkedForDeletion(List.of(author.getId())).isEmpty()) {
+            throw new InvalidRequestException(AUTHOR_DELETION_IN_PROGRESS.getId(),
+                    format(AUTHOR_DELETION_IN_PROGRESS.getMessage(), author.getName()));
+        }
+    }
+
+    private NewsKeysetCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new NewsKeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw CursorCodec.invalidCursor(cursor);
+        }
+    }
+
+    private NewsRepositorySearchParams toRepositoryParams(NewsServiceSearchParams serviceParams) {
+        validateConstraintsOrThrowException(serviceParams);
+        if (serviceParams.tagIds() != null) {
+            tagsExistOrThrowException(serviceParams.tagIds());
+        }
+        return newsMapper.serviceParamsToRepositoryParams(serviceParams);
+    }
+
+    private Set<NewsExpansion> parseExpansions(Collection<String> expand) {
+        Set<NewsExpansion> expansions = EnumSet.noneOf(NewsExpansion.class);
+        for (String value : expand) {
+            if (value.isBlank()) {
+                continue;
+            }
+            try {
+                expansions.add(NewsExpansion.valueOf(value.strip().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException(INVALID_EXPAND_VALUE.getId(), format(INVALID_EXPAND_VALUE.getMessage(), value));
             }
-        });
+        }
+        return expansions;
+    }
+
+    private Function<NewsEntity, ExpandedNewsResponse> expander(List<NewsEntity> entities, Set<NewsExpansion> expansions) {
+        List<Long> newsIds = entities.stream().map(NewsEntity::getId).toList();
+
+        Map<Long, AuthorDtoResponse> authors = new HashMap<>();
+        if (expansions.contains(NewsExpansion.AUTHOR)) {
+            List<Long> authorIds = entities.stream().map(NewsEntity::getAuthor).filter(Objects::nonNull)
+                    .map(AuthorEntity::getId).distinct().toList();
+            authorRepository.getAllById(authorIds)
+                    .forEach(author -> authors.put(author.getId(), authorMapper.entityToDtoResponse(author)));
+        }
+        Map<Long, List<TagEntity>> tags = expansions.contains(NewsExpansion.TAGS)
+                ? tagRepository.getByNewsIds(newsIds) : Map.of();
+        Map<Long, List<CommentEntity>> comments = expansions.contains(NewsExpansion.COMMENTS)
+                ? commentRepository.getByNewsIds(newsIds) : Map.of();
+
+        return entity -> new ExpandedNewsResponse(
+                newsMapper.entityToDtoResponse(entity),
+                entity.getAuthor() == null ? null : authors.get(entity.getAuthor().getId()),
+                expansions.contains(NewsExpansion.TAGS)
+                        ? tagMapper.listOfEntitiesToListOfResponses(tags.getOrDefault(entity.getId(), List.of())) : null,
+                expansions.contains(NewsExpansion.COMMENTS)
+                        ? commentMapper.listOfEntitiesToListOfResponses(comments.getOrDefault(entity.getId(), List.of())) : null);
     }
 
     private void tagsExistOrThrowException(List<Long> ids) {
-        ids.forEach(id -> {
-            if (!tagRepository.existById(id)) {
-                throw new NotFoundException(TAG_DOES_NOT_EXIST.getId(), format(TAG_DOES_NOT_EXIST.getMessage(), id));
-            }
-        });
+        Set<Long> missingIds = tagRepository.findMissingIds(ids);
+        if (!missingIds.isEmpty()) {
+            String missing = missingIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+            throw new NotFoundException(TAG_DOES_NOT_EXIST.getId(), format(TAG_DOES_NOT_EXIST.getMessage(), missing));
+        }
     }
 }
@@ -9,19 +9,24 @@ import com.github.fge.jsonpatch.JsonPatchException;
 import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.repository.query.TagRepositorySearchParams;
 import com.mjc.school.service.TagService;
+import com.mjc.school.service.dto.BatchItemResult;
 import com.mjc.school.service.dto.TagDtoRequest;
 import com.mjc.school.service.dto.TagDtoResponse;
+import com.mjc.school.service.dto.ResourceVersion;
 import com.mjc.school.service.exception.AlreadyExistException;
 import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.exception.PatchApplyException;
 import com.mjc.school.service.mapper.TagMapper;
+import com.mjc.school.service.query.CountStrategy;
 import com.mjc.school.service.query.TagServiceSearchParams;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +34,7 @@ import javax.validation.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.mjc.school.service.exception.ErrorCode.*;
 import static java.lang.String.format;
@@ -68,6 +74,16 @@ public class TagServiceImpl implements TagService {
         return new PageImpl<>(content, pageable, tagEntityPage.getTotalElements());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<TagDtoResponse> getAll(Pageable pageable, TagServiceSearchParams serviceParams, CountStrategy countStrategy) {
+        validateConstraintsOrThrowException(serviceParams);
+        TagRepositorySearchParams repositoryParams = tagMapper.serviceParamsToRepositoryParams(serviceParams);
+
+        Slice<TagEntity> tagEntitySlice = tagRepository.getAll(pageable, repositoryParams, CountMode.valueOf(countStrategy.name()));
+        return tagEntitySlice.map(tagMapper::entityToDtoResponse);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public TagDtoResponse getById(Long id) {
@@ -77,6 +93,14 @@ public class TagServiceImpl implements TagService {
         return tagMapper.entityToDtoResponse(entity);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ResourceVersion getVersionById(Long id) {
+        return tagRepository.getVersionById(id)
+                .map(version -> new ResourceVersion(version.version(), version.lastUpdateDate(), version.counter()))
+                .orElseThrow(() -> new NotFoundException(TAG_DOES_NOT_EXIST.getId(), format(TAG_DOES_NOT_EXIST.getMessage(), id)));
+    }
+
     @Transactional
     @Override
     public TagDtoResponse create(TagDtoRequest createRequest) {
@@ -89,6 +113,20 @@ public class TagServiceImpl implements TagService {
         return tagMapper.entityToDtoResponse(createdTag);
     }
 
+    @Transactional
+    @Override
+    public List<BatchItemResult<TagDtoResponse>> createAll(List<TagDtoRequest> createRequests) {
+        BatchCreation<TagDtoRequest, TagDtoResponse> batch = new BatchCreation<>(createRequests, springValidator);
+        batch.rejectDuplicates(TagDtoRequest::name, TAG_ALREADY_EXIST);
+
+        Set<String> existingNames = tagRepository.getAllByName(batch.pendingRequests().stream().map(TagDtoRequest::name).toList())
+                .stream().map(tag -> tag.getName().toLowerCase()).collect(Collectors.toSet());
+        batch.rejectIf(request -> existingNames.contains(request.name().toLowerCase()), TAG_ALREADY_EXIST,
+                request -> TAG_ALREADY_EXIST.getMessage());
+
+        return batch.complete(tagMapper::dtoRequestToEntity, tagRepository::createAll, tagMapper::entityToDtoResponse);
+    }
+
     @Transactional
     @Override
     public TagDtoResponse update(Long id, JsonPatch patch) {
@@ -3,6 +3,7 @@ package com.mjc.school.service.mapper;
 import com.mjc.school.repository.AuthorRepository;
 import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.NewsEntity;
+import com.mjc.school.repository.entity.TagEntity;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
 import com.mjc.school.service.dto.NewsDtoRequest;
 import com.mjc.school.service.dto.NewsDtoResponse;
@@ -10,6 +11,7 @@ import com.mjc.school.service.query.NewsServiceSearchParams;
 import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @org.mapstruct.Mapper(componentModel = "spring", uses = {AuthorMapper.class, TagMapper.class})
@@ -25,7 +27,7 @@ public abstract class NewsMapper {
     @Mapping(target = "lastUpdateDate", ignore = true)
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "author", expression = "java(authorRepository.getByName(request.authorName()).get())")
-    @Mapping(target = "tags", expression = "java(request.tagNames().stream().map(name -> tagRepository.getByName(name).get()).toList())")
+    @Mapping(target = "tags", expression = "java(getOrCreateTags(request.tagNames()))")
     public abstract NewsEntity dtoRequestToEntity(NewsDtoRequest request);
 
     public abstract NewsDtoResponse entityToDtoResponse(NewsEntity entity);
@@ -37,4 +39,8 @@ public abstract class NewsMapper {
     @Mapping(target = "authorName", source = "author.name")
     @Mapping(target = "tagNames", expression = "java(entity.getTags().stream().map(t -> t.getName()).toList())")
     public abstract NewsDtoRequest entityToRequest(NewsEntity entity);
+
+    protected List<TagEntity> getOrCreateTags(List<String> tagNames) {
+        return tagNames == null ? new ArrayList<>() : tagRepository.getOrCreateAll(tagNames);
+    }
 }
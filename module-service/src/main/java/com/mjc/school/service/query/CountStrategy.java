@@ -0,0 +1,7 @@
+package com.mjc.school.service.query;
+
+public enum CountStrategy {
+    EXACT,
+    SKIP,
+    ESTIMATED
+}
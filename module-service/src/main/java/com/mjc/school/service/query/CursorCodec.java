@@ -0,0 +1,42 @@
+package com.mjc.school.service.query;
+
+import com.mjc.school.service.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.mjc.school.service.exception.ErrorCode.INVALID_CURSOR;
+import static java.lang.String.format;
+
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) raw.append(SEPARATOR);
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw invalidCursor(cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(cursor);
+        }
+    }
+
+    public static InvalidRequestException invalidCursor(String cursor) {
+        return new InvalidRequestException(INVALID_CURSOR.getId(), format(INVALID_CURSOR.getMessage(), cursor));
+    }
+}
@@ -0,0 +1,6 @@
+package com.mjc.school.service.query;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
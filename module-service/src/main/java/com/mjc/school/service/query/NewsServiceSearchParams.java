@@ -18,5 +18,7 @@ public record NewsServiceSearchParams(
 
         List<@Size(min = TAG_NAME_MIN_SIZE, max = TAG_NAME_MAX_SIZE) String> tagNames,
 
-        List<@Min(1) Long> tagIds) {
+        List<@Min(1) Long> tagIds,
+
+        TagMatch tagMatch) {
 }
@@ -17,4 +17,7 @@ public class ValidationConstants {
     public static final int NEWS_TITLE_MAX_SIZE = 30;
     public static final int NEWS_CONTENT_MIN_SIZE = 5;
     public static final int NEWS_CONTENT_MAX_SIZE = 255;
+
+    public static final int PAGE_MAX_SIZE = 100;
+    public static final int BATCH_MAX_SIZE = 1000;
 }
@@ -1,11 +1,15 @@
 package com.mjc.school.implementation;
 
+import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.repository.AuthorRepository;
+import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.entity.AuthorEntity;
 import com.mjc.school.repository.query.AuthorRepositorySearchParams;
 import com.mjc.school.service.AuthorService;
+import com.mjc.school.service.configuration.NewsCacheEvictor;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
+import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.impl.AuthorServiceImpl;
 import com.mjc.school.service.mapper.AuthorMapper;
 import com.mjc.school.service.query.AuthorServiceSearchParams;
@@ -33,6 +37,12 @@ class AuthorServiceTest {
     @Mock
     AuthorRepository authorRepository;
 
+    @Mock
+    NewsRepository newsRepository;
+
+    @Mock
+    NewsCacheEvictor newsCacheEvictor;
+
     AuthorService authorService;
 
     private AuthorDtoRequest request;
@@ -41,7 +51,7 @@ class AuthorServiceTest {
 
     @BeforeEach
     public void setup() {
-        authorService = new AuthorServiceImpl(authorRepository, Mappers.getMapper(AuthorMapper.class));
+        authorService = new AuthorServiceImpl(authorRepository, newsRepository, Mappers.getMapper(AuthorMapper.class), newsCacheEvictor);
 
         LocalDateTime now = LocalDateTime.now();
         String name = "Grigoriev Egor";
@@ -101,13 +111,27 @@ class AuthorServiceTest {
         assertThrows(ConstraintViolationException.class, () -> authorService.getAll(pageable, invalidParam));
     }
 
+    @Test
+    public void updateOfAuthorMarkedForDeletionIsRejectedTest() {
+        Long id = entity.getId();
+        AuthorEntity marked = mock(AuthorEntity.class);
+        given(marked.isDeletionRequested()).willReturn(true);
+        given(authorRepository.getById(id)).willReturn(Optional.of(marked));
+
+        assertThrows(NotFoundException.class, () -> authorService.update(id, new JsonPatch(List.of())));
+
+        verify(authorRepository, never()).update(any(AuthorEntity.class));
+    }
+
     @Test
     public void successfulDeleteTest() {
         Long id = entity.getId();
         given(authorRepository.existById(id)).willReturn(true);
         given(authorRepository.deleteById(id)).willReturn(true);
+        given(newsRepository.deleteAllByAuthorId(id)).willReturn(List.of(1L, 2L));
 
         assertTrue(authorService.deleteById(id));
+        verify(newsCacheEvictor, times(1)).evict(List.of(1L, 2L));
 
         verify(authorRepository, times(1)).deleteById(id);
         verify(authorRepository, times(1)).existById(id);
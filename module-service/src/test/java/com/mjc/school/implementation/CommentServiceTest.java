@@ -5,6 +5,7 @@ import com.mjc.school.repository.NewsRepository;
 import com.mjc.school.repository.entity.CommentEntity;
 import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.query.CommentRepositorySearchParams;
+import com.mjc.school.service.configuration.NewsCacheEvictor;
 import com.mjc.school.service.dto.CommentDtoRequest;
 import com.mjc.school.service.dto.CommentDtoResponse;
 import com.mjc.school.service.impl.CommentServiceImpl;
@@ -41,6 +42,9 @@ class CommentServiceTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private NewsCacheEvictor newsCacheEvictor;
+
     @InjectMocks
     private CommentServiceImpl commentService;
 
@@ -90,6 +94,7 @@ class CommentServiceTest {
         assertEquals(expectedResponse, actual);
         verify(commentRepository, times(1)).create(nullIdEntity);
         verify(newsRepository, times(1)).existById(request.newsId());
+        verify(newsCacheEvictor, times(1)).evict(List.of(request.newsId()));
         verifyNoMoreInteractions(commentRepository);
     }
 
@@ -133,12 +138,13 @@ class CommentServiceTest {
     @Test
     void successfulDeleteTest() {
         Long id = entity.getId();
-        given(commentRepository.existById(id)).willReturn(true);
+        given(commentRepository.getNewsIdById(id)).willReturn(Optional.of(entity.getNews().getId()));
         given(commentRepository.deleteById(id)).willReturn(true);
 
         assertTrue(commentService.deleteById(id));
         verify(commentRepository, times(1)).deleteById(id);
-        verify(commentRepository, times(1)).existById(id);
+        verify(commentRepository, times(1)).getNewsIdById(id);
+        verify(newsCacheEvictor, times(1)).evict(List.of(entity.getNews().getId()));
         verifyNoMoreInteractions(commentRepository);
     }
 }
\ No newline at end of file
@@ -6,9 +6,11 @@ import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.AuthorEntity;
 import com.mjc.school.repository.entity.NewsEntity;
 import com.mjc.school.repository.entity.TagEntity;
+import com.mjc.school.repository.query.CountMode;
 import com.mjc.school.repository.query.NewsRepositorySearchParams;
 import com.mjc.school.service.dto.NewsDtoRequest;
 import com.mjc.school.service.dto.NewsDtoResponse;
+import com.mjc.school.service.exception.InvalidRequestException;
 import com.mjc.school.service.impl.NewsServiceImpl;
 import com.mjc.school.service.mapper.NewsMapper;
 import com.mjc.school.service.query.NewsServiceSearchParams;
@@ -26,6 +28,7 @@ import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -65,8 +68,8 @@ class NewsServiceTest {
         LocalDateTime now = LocalDateTime.now();
         long newsId = 1L;
 
-        serviceEmptyParams = new NewsServiceSearchParams(null, null, null, null, null);
-        repositoryEmptyParams = new NewsRepositorySearchParams(null, null, null, null, null);
+        serviceEmptyParams = new NewsServiceSearchParams(null, null, null, null, null, null);
+        repositoryEmptyParams = new NewsRepositorySearchParams(null, null, null, null, null, null);
 
         TagEntity tagEntity = new TagEntity(1L, tagName);
         AuthorEntity authorEntity = new AuthorEntity(1L, authorName, now, now);
@@ -79,7 +82,7 @@ class NewsServiceTest {
         nullIdNewsEntity = NewsEntity.newBuilder().setTitle(newsTitle).setContent(newsContent).setCreationDate(now)
                 .setLastUpdateDate(now).setAuthor(authorEntity).setTags(List.of(tagEntity)).build();
 
-        expectedResponse = new NewsDtoResponse(newsId, newsTitle, newsContent, now, now);
+        expectedResponse = new NewsDtoResponse(newsId, newsTitle, newsContent, now, now, 0);
     }
 
     @Test
@@ -104,10 +107,19 @@ class NewsServiceTest {
         verify(newsRepository, times(1)).create(nullIdNewsEntity);
         verify(newsRepository, times(1)).existByTitle(newsDtoRequest.title());
         verify(authorRepository, times(1)).existByName(newsDtoRequest.authorName());
-        verify(tagRepository, times(1)).existByName(newsDtoRequest.tagNames().get(0));
+        verifyNoInteractions(tagRepository);
         verifyNoMoreInteractions(newsRepository);
     }
 
+    @Test
+    public void createForAuthorMarkedForDeletionIsRejectedTest() {
+        given(newsMapper.dtoRequestToEntity(newsDtoRequest)).willReturn(nullIdNewsEntity);
+        given(authorRepository.lockAndGetMarkedForDeletion(List.of(1L))).willReturn(Set.of(1L));
+
+        assertThrows(InvalidRequestException.class, () -> newsService.create(newsDtoRequest));
+        verify(newsRepository, never()).create(any(NewsEntity.class));
+    }
+
     @Test
     public void validationFailedWhenCreatingTest() {
         String invalidTitle = "Titl";
@@ -122,14 +134,14 @@ class NewsServiceTest {
         List<NewsDtoResponse> expectedResponseList = List.of(expectedResponse);
 
         given(newsMapper.serviceParamsToRepositoryParams(serviceEmptyParams)).willReturn(repositoryEmptyParams);
-        given(newsMapper.listOfEntitiesToListOfResponses(entityList)).willReturn(expectedResponseList);
-        given(newsRepository.getAll(pageable, repositoryEmptyParams))
+        given(newsMapper.entityToDtoResponse(newsEntity)).willReturn(expectedResponse);
+        given(newsRepository.getAll(pageable, repositoryEmptyParams, CountMode.EXACT))
                 .willReturn(new PageImpl<>(entityList, pageable, 1));
 
         List<NewsDtoResponse> actual = newsService.getAll(pageable, serviceEmptyParams).getContent();
 
         assertEquals(expectedResponseList, actual);
-        verify(newsRepository, times(1)).getAll(any(Pageable.class), any(NewsRepositorySearchParams.class));
+        verify(newsRepository, times(1)).getAll(any(Pageable.class), any(NewsRepositorySearchParams.class), eq(CountMode.EXACT));
         verifyNoMoreInteractions(newsRepository);
     }
 
@@ -137,7 +149,7 @@ class NewsServiceTest {
     public void validationFailedWhenGettingAllTest() {
         Pageable pageable = PageRequest.of(0, 10);
         String invalidTitle = "Invalid news title value for validation failure";
-        NewsServiceSearchParams invalidParam = new NewsServiceSearchParams(invalidTitle, null, null, null, null);
+        NewsServiceSearchParams invalidParam = new NewsServiceSearchParams(invalidTitle, null, null, null, null, null);
 
         assertThrows(ConstraintViolationException.class, () -> newsService.getAll(pageable, invalidParam));
     }
@@ -5,8 +5,10 @@ import com.mjc.school.repository.TagRepository;
 import com.mjc.school.repository.entity.TagEntity;
 import com.mjc.school.repository.query.TagRepositorySearchParams;
 import com.mjc.school.service.TagService;
+import com.mjc.school.service.dto.BatchItemResult;
 import com.mjc.school.service.dto.TagDtoRequest;
 import com.mjc.school.service.dto.TagDtoResponse;
+import com.mjc.school.service.exception.ErrorCode;
 import com.mjc.school.service.impl.TagServiceImpl;
 import com.mjc.school.service.mapper.TagMapper;
 import com.mjc.school.service.query.TagServiceSearchParams;
@@ -51,7 +53,7 @@ class TagServiceTest {
 
         request = new TagDtoRequest(name);
         entity = new TagEntity(id, name);
-        expectedResponse = new TagDtoResponse(id, name);
+        expectedResponse = new TagDtoResponse(id, name, 0);
     }
 
     @Test
@@ -82,6 +84,21 @@ class TagServiceTest {
         assertThrows(ConstraintViolationException.class, () -> tagService.create(invalidRequest));
     }
 
+    @Test
+    public void createAllReportsEveryItemTest() {
+        List<TagDtoRequest> requests = List.of(request, new TagDtoRequest("CLIMATE"), new TagDtoRequest("x"));
+        given(tagRepository.createAll(anyList())).willReturn(List.of(entity));
+
+        List<BatchItemResult<TagDtoResponse>> actual = tagService.createAll(requests);
+
+        assertEquals(BatchItemResult.success(0, expectedResponse), actual.get(0));
+        assertEquals(ErrorCode.TAG_ALREADY_EXIST.getId(), actual.get(1).errorCode());
+        assertEquals(ErrorCode.ENTITY_VALIDATION_FAILED.getId(), actual.get(2).errorCode());
+        verify(tagRepository, times(1)).getAllByName(List.of(request.name()));
+        verify(tagRepository, times(1)).createAll(anyList());
+        verifyNoMoreInteractions(tagRepository);
+    }
+
     @Test
     public void successfulGetAllTest() {
         Pageable pageable = PageRequest.of(0, 1);
@@ -0,0 +1,71 @@
+package com.mjc.school.hateoas;
+
+import com.mjc.school.controller.impl.NewsRestController;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LinkHelperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private List<NewsDtoResponse> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        page = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> new NewsDtoResponse(id, "title " + id, "content " + id, now, now, 0))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<NewsDtoResponse>> webMvcLinkBuilder() {
+        startRequest();
+        return page.stream().map(news -> {
+            EntityModel<NewsDtoResponse> model = EntityModel.of(news);
+            model.add(linkTo(methodOn(NewsRestController.class).getById(news.id(), null)).withSelfRel());
+            model.add(linkTo(methodOn(NewsRestController.class).getAuthorByNewsId(news.id())).withRel("author"));
+            model.add(linkTo(methodOn(NewsRestController.class).getTagsByNewsId(news.id())).withRel("tags"));
+            model.add(linkTo(methodOn(NewsRestController.class).getCommentsByNewsId(news.id())).withRel("comments"));
+            return model;
+        }).toList();
+    }
+
+    @Benchmark
+    public List<EntityModel<NewsDtoResponse>> linkTemplates() {
+        startRequest();
+        return page.stream().map(news -> {
+            EntityModel<NewsDtoResponse> model = EntityModel.of(news);
+            LinkHelper.addLinksToNews(model);
+            return model;
+        }).toList();
+    }
+
+    private static void startRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/news");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -9,6 +9,9 @@ public class ApiConstant {
     public static final String NEWS_BASE_URI = "/news";
     public static final String COMMENTS_BASE_URI = "/comments";
     public static final String TAGS_BASE_URI = "/tags";
+    public static final String DELETION_JOBS_URI = "/deletion-jobs";
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
 
     public static final String HOSTNAME = "localhost:8080";
 }
\ No newline at end of file
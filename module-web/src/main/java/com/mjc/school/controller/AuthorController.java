@@ -1,6 +1,7 @@
 package com.mjc.school.controller;
 
 import com.github.fge.jsonpatch.JsonPatch;
+import com.mjc.school.service.dto.AuthorDeletionJobResponse;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
 import com.mjc.school.service.dto.AuthorWithNewsResponse;
@@ -12,4 +13,10 @@ import org.springframework.hateoas.PagedModel;
 public interface AuthorController extends BaseController<AuthorDtoRequest, AuthorDtoResponse, Long, JsonPatch, AuthorServiceSearchParams> {
 
     PagedModel<EntityModel<AuthorWithNewsResponse>> getAuthorsWithNewsAmount(Pageable pageable);
+
+    PagedModel<EntityModel<AuthorWithNewsResponse>> getAuthorsWithNewsAmountByCursor(String cursor, int size);
+
+    EntityModel<AuthorDeletionJobResponse> deleteByIdAsync(Long id);
+
+    EntityModel<AuthorDeletionJobResponse> getDeletionJob(Long id);
 }
@@ -1,17 +1,25 @@
 package com.mjc.school.controller;
 
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.query.CountStrategy;
 import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 public interface BaseController<T, R, K, U, P> {
 
-    PagedModel<EntityModel<R>> getAll(Pageable pageable, P searchParameters);
+    PagedModel<EntityModel<R>> getAll(Pageable pageable, P searchParameters, CountStrategy countStrategy);
 
-    EntityModel<R> getById(K id);
+    EntityModel<R> getById(K id, WebRequest request);
 
     EntityModel<R> create(T createRequest);
 
+    CollectionModel<BatchItemResult<R>> createAll(List<T> createRequests);
+
     EntityModel<R> update(K id, U updateRequest);
 
     void deleteById(K id);
@@ -0,0 +1,20 @@
+package com.mjc.school.controller;
+
+import com.mjc.school.service.dto.ResourceVersion;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+
+public class ConditionalRequestHelper {
+
+    private ConditionalRequestHelper() {
+    }
+
+    public static boolean checkNotModified(WebRequest request, Object id, ResourceVersion version) {
+        String etag = id + "-" + version.version() + (version.counter() == null ? "" : "-" + version.counter());
+        // trigger-maintained counters change the representation without touching lastUpdateDate
+        long lastModified = version.lastUpdateDate() == null || version.counter() != null ? -1
+                : version.lastUpdateDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return request.checkNotModified(etag, lastModified);
+    }
+}
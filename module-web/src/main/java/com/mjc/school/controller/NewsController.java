@@ -1,13 +1,38 @@
 package com.mjc.school.controller;
 
 import com.github.fge.jsonpatch.JsonPatch;
+import com.mjc.school.hateoas.ExpandedNews;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.query.CountStrategy;
 import com.mjc.school.service.query.NewsServiceSearchParams;
+import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
 
 public interface NewsController extends BaseController<NewsDtoRequest, NewsDtoResponse, Long, JsonPatch, NewsServiceSearchParams> {
 
+    PagedModel<EntityModel<NewsDtoResponse>> getAllByCursor(String cursor, int size, NewsServiceSearchParams searchParameters);
+
+    PagedModel<EntityModel<ExpandedNews>> getAllExpandedByCursor(String cursor, int size, NewsServiceSearchParams searchParameters,
+                                                                Set<String> expand);
+
+    PagedModel<EntityModel<NewsDtoResponse>> search(String query, Pageable pageable);
+
+    PagedModel<EntityModel<ExpandedNews>> getAllExpanded(Pageable pageable, NewsServiceSearchParams searchParameters,
+                                                        CountStrategy countStrategy, Set<String> expand);
+
+    EntityModel<ExpandedNews> getByIdExpanded(Long id, Set<String> expand);
+
+    void exportAll(HttpServletResponse response) throws IOException;
+
+    EntityModel<ImportReport> importAll(long offset, HttpServletRequest request) throws IOException;
+
     CollectionModel<EntityModel<TagDtoResponse>> getTagsByNewsId(Long id);
 
     CollectionModel<EntityModel<CommentDtoResponse>> getCommentsByNewsId(Long id);
@@ -3,11 +3,16 @@ package com.mjc.school.controller.impl;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.controller.AuthorController;
 import com.mjc.school.hateoas.LinkHelper;
+import com.mjc.school.service.AuthorDeletionService;
 import com.mjc.school.service.AuthorService;
+import com.mjc.school.service.dto.AuthorDeletionJobResponse;
 import com.mjc.school.service.dto.AuthorDtoRequest;
 import com.mjc.school.service.dto.AuthorDtoResponse;
 import com.mjc.school.service.dto.AuthorWithNewsResponse;
+import com.mjc.school.service.dto.BatchItemResult;
+import com.mjc.school.service.dto.CursorPage;
 import com.mjc.school.service.query.AuthorServiceSearchParams;
+import com.mjc.school.service.query.CountStrategy;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
@@ -17,30 +22,39 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.data.web.SortDefault;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
+
+import java.util.List;
 
 import static com.mjc.school.constant.ApiConstant.API_BASE_URI;
 import static com.mjc.school.constant.ApiConstant.AUTHORS_BASE_URI;
+import static com.mjc.school.constant.ApiConstant.DELETION_JOBS_URI;
 
 @RestController
 @RequestMapping(value = API_BASE_URI, produces = MediaTypes.HAL_JSON_VALUE)
 public class AuthorRestController implements AuthorController {
 
     private final AuthorService authorService;
+    private final AuthorDeletionService authorDeletionService;
 
     private final PagedResourcesAssembler<AuthorDtoResponse> pageAssembler;
     private final PagedResourcesAssembler<AuthorWithNewsResponse> authorWithNewsPageAssembler;
 
     @Autowired
     public AuthorRestController(AuthorService authorService,
+                                AuthorDeletionService authorDeletionService,
                                 PagedResourcesAssembler<AuthorDtoResponse> pageAssembler,
                                 PagedResourcesAssembler<AuthorWithNewsResponse> authorWithNewsPageAssembler) {
         this.authorService = authorService;
+        this.authorDeletionService = authorDeletionService;
         this.pageAssembler = pageAssembler;
         this.authorWithNewsPageAssembler = authorWithNewsPageAssembler;
     }
@@ -59,9 +73,10 @@ public class AuthorRestController implements AuthorController {
             @PageableDefault(size = 5)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable,
-            AuthorServiceSearchParams param) {
+            AuthorServiceSearchParams param,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count) {
 
-        PagedModel<EntityModel<AuthorDtoResponse>> modelPage = pageAssembler.toModel(authorService.getAll(pageable, param));
+        PagedModel<EntityModel<AuthorDtoResponse>> modelPage = LinkHelper.toPagedModel(authorService.getAll(pageable, param, count), pageAssembler);
         modelPage.forEach(LinkHelper::addLinksToAuthor);
         return modelPage;
     }
@@ -69,15 +84,18 @@ public class AuthorRestController implements AuthorController {
     @ApiOperation(value = "Get author by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully received the author by its id"),
+            @ApiResponse(code = 304, message = "The resource was not modified since the given ETag or date"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping("/v1" + AUTHORS_BASE_URI + "/{id:\\d+}")
     @Override
-    public EntityModel<AuthorDtoResponse> getById(@PathVariable Long id) {
+    public EntityModel<AuthorDtoResponse> getById(@PathVariable Long id, @ApiIgnore WebRequest request) {
 
+        if (ConditionalRequestHelper.checkNotModified(request, id, authorService.getVersionById(id))) {
+            return null;
+        }
         EntityModel<AuthorDtoResponse> model = EntityModel.of(authorService.getById(id));
         LinkHelper.addLinksToAuthor(model);
         return model;
@@ -100,11 +118,27 @@ public class AuthorRestController implements AuthorController {
         return model;
     }
 
+    @ApiOperation(value = "Create several authors at once")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Batch was processed, see the result of every item"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/v1" + AUTHORS_BASE_URI + ":batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public CollectionModel<BatchItemResult<AuthorDtoResponse>> createAll(@RequestBody List<AuthorDtoRequest> createRequests) {
+
+        return CollectionModel.of(authorService.createAll(createRequests));
+    }
+
     @ApiOperation(value = "Update an author")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The author was updated successfully"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "The resource was modified concurrently"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
     @ResponseStatus(HttpStatus.OK)
@@ -131,6 +165,40 @@ public class AuthorRestController implements AuthorController {
         authorService.deleteById(id);
     }
 
+    @ApiOperation(value = "Delete author with all its news in the background")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "The author is hidden and its deletion job was accepted"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @DeleteMapping(value = "/v1" + AUTHORS_BASE_URI + "/{id:\\d+}", params = "async=true")
+    @Override
+    public EntityModel<AuthorDeletionJobResponse> deleteByIdAsync(@PathVariable Long id) {
+
+        EntityModel<AuthorDeletionJobResponse> model = EntityModel.of(authorDeletionService.requestDeletion(id));
+        LinkHelper.addLinksToAuthorDeletionJob(model);
+        return model;
+    }
+
+    @ApiOperation(value = "Get author deletion job by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received the deletion job by its id"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping("/v1" + AUTHORS_BASE_URI + DELETION_JOBS_URI + "/{id:\\d+}")
+    @Override
+    public EntityModel<AuthorDeletionJobResponse> getDeletionJob(@PathVariable Long id) {
+
+        EntityModel<AuthorDeletionJobResponse> model = EntityModel.of(authorDeletionService.getJobById(id));
+        LinkHelper.addLinksToAuthorDeletionJob(model);
+        return model;
+    }
+
     @ApiOperation(value = "Get authors with the amount of news")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully retrieved authors with the amount of news"),
@@ -139,7 +207,7 @@ public class AuthorRestController implements AuthorController {
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
     @ResponseStatus(HttpStatus.OK)
-    @GetMapping(value = "/v1" + AUTHORS_BASE_URI + "/with-news-amount")
+    @GetMapping(value = "/v1" + AUTHORS_BASE_URI + "/with-news-amount", params = "!cursor")
     @Override
     public PagedModel<EntityModel<AuthorWithNewsResponse>> getAuthorsWithNewsAmount(
             @PageableDefault(size = 5)
@@ -149,4 +217,26 @@ public class AuthorRestController implements AuthorController {
         modelPage.forEach(LinkHelper::addLinksToAuthorWithNewsAmount);
         return modelPage;
     }
+
+    @ApiOperation(value = "Get authors with the amount of news using keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved a slice of authors with the amount of news"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + AUTHORS_BASE_URI + "/with-news-amount", params = "cursor")
+    @Override
+    public PagedModel<EntityModel<AuthorWithNewsResponse>> getAuthorsWithNewsAmountByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size) {
+
+        CursorPage<AuthorWithNewsResponse> page = authorService.getWithNewsAmountByCursor(cursor, size);
+        List<EntityModel<AuthorWithNewsResponse>> authorModels = page.content().stream().map(EntityModel::of).toList();
+        authorModels.forEach(LinkHelper::addLinksToAuthorWithNewsAmount);
+        PagedModel<EntityModel<AuthorWithNewsResponse>> modelPage = PagedModel.of(authorModels, (PagedModel.PageMetadata) null);
+        LinkHelper.addCursorLinks(modelPage, page.nextCursor());
+        return modelPage;
+    }
 }
@@ -2,11 +2,14 @@ package com.mjc.school.controller.impl;
 
 import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.ConditionalRequestHelper;
 import com.mjc.school.hateoas.LinkHelper;
 import com.mjc.school.service.BaseService;
+import com.mjc.school.service.dto.BatchItemResult;
 import com.mjc.school.service.dto.CommentDtoRequest;
 import com.mjc.school.service.dto.CommentDtoResponse;
 import com.mjc.school.service.query.CommentServiceSearchParams;
+import com.mjc.school.service.query.CountStrategy;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.ApiResponse;
@@ -16,12 +19,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.data.web.SortDefault;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
+
+import java.util.List;
 
 import static com.mjc.school.constant.ApiConstant.API_BASE_URI;
 import static com.mjc.school.constant.ApiConstant.COMMENTS_BASE_URI;
@@ -54,9 +62,10 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
             @PageableDefault(size = 20)
             @SortDefault(sort = "creationDate", direction = Sort.Direction.DESC)
             Pageable pageable,
-            CommentServiceSearchParams params) {
+            CommentServiceSearchParams params,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count) {
 
-        PagedModel<EntityModel<CommentDtoResponse>> modelPage = pageAssembler.toModel(commentService.getAll(pageable, params));
+        PagedModel<EntityModel<CommentDtoResponse>> modelPage = LinkHelper.toPagedModel(commentService.getAll(pageable, params, count), pageAssembler);
         modelPage.forEach(LinkHelper::addLinksToComment);
         return modelPage;
     }
@@ -64,15 +73,18 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
     @ApiOperation(value = "Get comment by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully received a comment by its id"),
+            @ApiResponse(code = 304, message = "The resource was not modified since the given ETag or date"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping(value = "/v1" + COMMENTS_BASE_URI + "/{id:\\d+}")
     @Override
-    public EntityModel<CommentDtoResponse> getById(@PathVariable Long id) {
+    public EntityModel<CommentDtoResponse> getById(@PathVariable Long id, @ApiIgnore WebRequest request) {
 
+        if (ConditionalRequestHelper.checkNotModified(request, id, commentService.getVersionById(id))) {
+            return null;
+        }
         EntityModel<CommentDtoResponse> model = EntityModel.of(commentService.getById(id));
         LinkHelper.addLinksToComment(model);
         return model;
@@ -95,11 +107,27 @@ public class CommentRestController implements BaseController<CommentDtoRequest,
         return model;
     }
 
+    @ApiOperation(value = "Create several comments at once")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Batch was processed, see the result of every item"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/v1" + COMMENTS_BASE_URI + ":batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public CollectionModel<BatchItemResult<CommentDtoResponse>> createAll(@RequestBody List<CommentDtoRequest> createRequests) {
+
+        return CollectionModel.of(commentService.createAll(createRequests));
+    }
+
     @ApiOperation(value = "Update a comment")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Comment was updated successfully"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "The resource was modified concurrently"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
     @ResponseStatus(HttpStatus.OK)
@@ -1,13 +1,19 @@
 package com.mjc.school.controller.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.controller.NewsController;
+import com.mjc.school.hateoas.ExpandedNews;
 import com.mjc.school.hateoas.LinkHelper;
 import com.mjc.school.service.AuthorService;
-import com.mjc.school.service.BaseService;
 import com.mjc.school.service.CommentService;
+import com.mjc.school.service.NewsImportService;
+import com.mjc.school.service.NewsService;
 import com.mjc.school.service.TagService;
 import com.mjc.school.service.dto.*;
+import com.mjc.school.service.query.CountStrategy;
+import com.mjc.school.service.query.ImportFormat;
 import com.mjc.school.service.query.NewsServiceSearchParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
@@ -25,8 +31,17 @@ import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.mjc.school.constant.ApiConstant.*;
 
@@ -34,23 +49,35 @@ import static com.mjc.school.constant.ApiConstant.*;
 @RequestMapping(value = API_BASE_URI, produces = MediaTypes.HAL_JSON_VALUE)
 public class NewsRestController implements NewsController {
 
-    private final BaseService<NewsDtoRequest, NewsDtoResponse, Long, JsonPatch, NewsServiceSearchParams> newsService;
+    // matches the repository scroll fetch size, so each fetched chunk reaches the client before the next one is read
+    private static final int EXPORT_FLUSH_SIZE = 500;
+
+    private final NewsService newsService;
+    private final NewsImportService newsImportService;
 
     private final TagService tagService;
     private final AuthorService authorService;
     private final CommentService commentService;
 
     private final PagedResourcesAssembler<NewsDtoResponse> pageAssembler;
+    private final PagedResourcesAssembler<ExpandedNews> expandedPageAssembler;
+
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public NewsRestController(BaseService<NewsDtoRequest, NewsDtoResponse, Long, JsonPatch, NewsServiceSearchParams> newsService,
+    public NewsRestController(NewsService newsService, NewsImportService newsImportService,
                               TagService tagService, AuthorService authorService, CommentService commentService,
-                              PagedResourcesAssembler<NewsDtoResponse> pageAssembler) {
+                              PagedResourcesAssembler<NewsDtoResponse> pageAssembler,
+                              PagedResourcesAssembler<ExpandedNews> expandedPageAssembler,
+                              ObjectMapper objectMapper) {
         this.newsService = newsService;
+        this.newsImportService = newsImportService;
         this.tagService = tagService;
         this.authorService = authorService;
         this.commentService = commentService;
         this.pageAssembler = pageAssembler;
+        this.expandedPageAssembler = expandedPageAssembler;
+        this.objectMapper = objectMapper;
     }
 
     @ApiOperation(value = "Get all news")
@@ -67,30 +94,189 @@ public class NewsRestController implements NewsController {
             @PageableDefault(size = 5)
             @SortDefault(sort = "creationDate", direction = Sort.Direction.DESC)
             Pageable pageable,
+            NewsServiceSearchParams params,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count) {
+
+        PagedModel<EntityModel<NewsDtoResponse>> modelPage = LinkHelper.toPagedModel(newsService.getAll(pageable, params, count), pageAssembler);
+        modelPage.forEach(LinkHelper::addLinksToNews);
+        return modelPage;
+    }
+
+    @ApiOperation(value = "Get all news with the requested relations embedded")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received all news with embedded relations"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI, params = {"expand", "!cursor"})
+    @Override
+    public PagedModel<EntityModel<ExpandedNews>> getAllExpanded(
+            @PageableDefault(size = 5)
+            @SortDefault(sort = "creationDate", direction = Sort.Direction.DESC)
+            Pageable pageable,
+            NewsServiceSearchParams params,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count,
+            @RequestParam Set<String> expand) {
+
+        PagedModel<EntityModel<ExpandedNews>> modelPage = LinkHelper.toPagedModel(
+                newsService.getAll(pageable, params, count, expand).map(LinkHelper::toExpandedNews), expandedPageAssembler);
+        modelPage.forEach(LinkHelper::addLinksToExpandedNews);
+        return modelPage;
+    }
+
+    @ApiOperation(value = "Get news using keyset pagination")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received a slice of news"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI, params = {"cursor", "!expand"})
+    @Override
+    public PagedModel<EntityModel<NewsDtoResponse>> getAllByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size,
             NewsServiceSearchParams params) {
 
-        PagedModel<EntityModel<NewsDtoResponse>> modelPage = pageAssembler.toModel(newsService.getAll(pageable, params));
+        CursorPage<NewsDtoResponse> page = newsService.getAllByCursor(cursor, size, params);
+        List<EntityModel<NewsDtoResponse>> newsModels = page.content().stream().map(EntityModel::of).toList();
+        newsModels.forEach(LinkHelper::addLinksToNews);
+        PagedModel<EntityModel<NewsDtoResponse>> modelPage = PagedModel.of(newsModels, (PagedModel.PageMetadata) null);
+        LinkHelper.addCursorLinks(modelPage, page.nextCursor());
+        return modelPage;
+    }
+
+    @ApiOperation(value = "Get news using keyset pagination, embedding the requested associations")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received a slice of news"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI, params = {"cursor", "expand"})
+    @Override
+    public PagedModel<EntityModel<ExpandedNews>> getAllExpandedByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            NewsServiceSearchParams params,
+            @RequestParam Set<String> expand) {
+
+        CursorPage<ExpandedNewsResponse> page = newsService.getAllByCursor(cursor, size, params, expand);
+        List<EntityModel<ExpandedNews>> newsModels = page.content().stream()
+                .map(LinkHelper::toExpandedNews)
+                .map(EntityModel::of)
+                .toList();
+        newsModels.forEach(LinkHelper::addLinksToExpandedNews);
+        PagedModel<EntityModel<ExpandedNews>> modelPage = PagedModel.of(newsModels, (PagedModel.PageMetadata) null);
+        LinkHelper.addCursorLinks(modelPage, page.nextCursor());
+        return modelPage;
+    }
+
+    @ApiOperation(value = "Search news by title and content, ordered by relevance")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received news matching the query"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI + "/search")
+    @Override
+    public PagedModel<EntityModel<NewsDtoResponse>> search(
+            @RequestParam String query,
+            @PageableDefault(size = 5) Pageable pageable) {
+
+        PagedModel<EntityModel<NewsDtoResponse>> modelPage = pageAssembler.toModel(newsService.search(query, pageable));
         modelPage.forEach(LinkHelper::addLinksToNews);
         return modelPage;
     }
 
+    @ApiOperation(value = "Export all news as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully streamed all news"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI + "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Override
+    public void exportAll(@ApiIgnore HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(NewsDtoResponse.class);
+        AtomicLong written = new AtomicLong();
+        newsService.exportAll(news -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(news));
+                outputStream.write('\n');
+                if (written.incrementAndGet() % EXPORT_FLUSH_SIZE == 0) {
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        outputStream.flush();
+    }
+
+    @ApiOperation(value = "Import news from an NDJSON or CSV stream, committing in chunks")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Import finished, see the report for rejected records and the resume offset"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/v1" + NEWS_BASE_URI + ":import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Override
+    public EntityModel<ImportReport> importAll(@RequestParam(defaultValue = "0") long offset,
+                                               @ApiIgnore HttpServletRequest request) throws IOException {
+
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportFormat.NDJSON : ImportFormat.CSV;
+        return EntityModel.of(newsImportService.importNews(request.getInputStream(), format, offset));
+    }
+
     @ApiOperation(value = "Get news by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully received a news by its id"),
+            @ApiResponse(code = 304, message = "The resource was not modified since the given ETag or date"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping(value = "/v1" + NEWS_BASE_URI + "/{id:\\d+}")
     @Override
-    public EntityModel<NewsDtoResponse> getById(@PathVariable Long id) {
+    public EntityModel<NewsDtoResponse> getById(@PathVariable Long id, @ApiIgnore WebRequest request) {
 
+        if (ConditionalRequestHelper.checkNotModified(request, id, newsService.getVersionById(id))) {
+            return null;
+        }
         EntityModel<NewsDtoResponse> model = EntityModel.of(newsService.getById(id));
         LinkHelper.addLinksToNews(model);
         return model;
     }
 
+    @ApiOperation(value = "Get news by id with the requested relations embedded")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully received a news with embedded relations"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/v1" + NEWS_BASE_URI + "/{id:\\d+}", params = "expand")
+    @Override
+    public EntityModel<ExpandedNews> getByIdExpanded(@PathVariable Long id, @RequestParam Set<String> expand) {
+
+        EntityModel<ExpandedNews> model = EntityModel.of(LinkHelper.toExpandedNews(newsService.getById(id, expand)));
+        LinkHelper.addLinksToExpandedNews(model);
+        return model;
+    }
+
     @ApiOperation(value = "Create a news")
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "News was created successfully"),
@@ -108,11 +294,27 @@ public class NewsRestController implements NewsController {
         return model;
     }
 
+    @ApiOperation(value = "Create several news at once")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Batch was processed, see the result of every item"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/v1" + NEWS_BASE_URI + ":batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public CollectionModel<BatchItemResult<NewsDtoResponse>> createAll(@RequestBody List<NewsDtoRequest> createRequests) {
+
+        return CollectionModel.of(newsService.createAll(createRequests));
+    }
+
     @ApiOperation(value = "Update a news")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "News was updated successfully"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "The resource was modified concurrently"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
     @ResponseStatus(HttpStatus.OK)
@@ -2,10 +2,13 @@ package com.mjc.school.controller.impl;
 
 import com.github.fge.jsonpatch.JsonPatch;
 import com.mjc.school.controller.BaseController;
+import com.mjc.school.controller.ConditionalRequestHelper;
 import com.mjc.school.hateoas.LinkHelper;
 import com.mjc.school.service.BaseService;
+import com.mjc.school.service.dto.BatchItemResult;
 import com.mjc.school.service.dto.TagDtoRequest;
 import com.mjc.school.service.dto.TagDtoResponse;
+import com.mjc.school.service.query.CountStrategy;
 import com.mjc.school.service.query.TagServiceSearchParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponses;
@@ -16,12 +19,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.data.web.SortDefault;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
+
+import java.util.List;
 
 import static com.mjc.school.constant.ApiConstant.API_BASE_URI;
 import static com.mjc.school.constant.ApiConstant.TAGS_BASE_URI;
@@ -55,9 +63,10 @@ public class TagRestController implements BaseController<TagDtoRequest, TagDtoRe
             @PageableDefault(size = 2)
             @SortDefault(sort = "name", direction = Sort.Direction.ASC)
             Pageable pageable,
-            TagServiceSearchParams params) {
+            TagServiceSearchParams params,
+            @RequestParam(defaultValue = "EXACT") CountStrategy count) {
 
-        PagedModel<EntityModel<TagDtoResponse>> modelPage = pageAssembler.toModel(tagService.getAll(pageable, params));
+        PagedModel<EntityModel<TagDtoResponse>> modelPage = LinkHelper.toPagedModel(tagService.getAll(pageable, params, count), pageAssembler);
         modelPage.forEach(LinkHelper::addLinksToTag);
         return modelPage;
     }
@@ -65,15 +74,18 @@ public class TagRestController implements BaseController<TagDtoRequest, TagDtoRe
     @ApiOperation(value = "Get tag by id")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successfully received a tag by its id"),
+            @ApiResponse(code = 304, message = "The resource was not modified since the given ETag or date"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
-    @ResponseStatus(HttpStatus.OK)
     @GetMapping(value = "/v1" + TAGS_BASE_URI + "/{id:\\d+}")
     @Override
-    public EntityModel<TagDtoResponse> getById(@PathVariable Long id) {
+    public EntityModel<TagDtoResponse> getById(@PathVariable Long id, @ApiIgnore WebRequest request) {
 
+        if (ConditionalRequestHelper.checkNotModified(request, id, tagService.getVersionById(id))) {
+            return null;
+        }
         EntityModel<TagDtoResponse> model = EntityModel.of(tagService.getById(id));
         LinkHelper.addLinksToTag(model);
         return model;
@@ -96,11 +108,27 @@ public class TagRestController implements BaseController<TagDtoRequest, TagDtoRe
         return model;
     }
 
+    @ApiOperation(value = "Create several tags at once")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Batch was processed, see the result of every item"),
+            @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
+            @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 500, message = "Application failed to process the request")
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/v1" + TAGS_BASE_URI + ":batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Override
+    public CollectionModel<BatchItemResult<TagDtoResponse>> createAll(@RequestBody List<TagDtoRequest> createRequests) {
+
+        return CollectionModel.of(tagService.createAll(createRequests));
+    }
+
     @ApiOperation(value = "Update a tag")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Tag was updated successfully"),
             @ApiResponse(code = 400, message = "Application cannot process the request due to a client error"),
             @ApiResponse(code = 404, message = "The resource you were trying to reach is not found"),
+            @ApiResponse(code = 409, message = "The resource was modified concurrently"),
             @ApiResponse(code = 500, message = "Application failed to process the request")
     })
     @ResponseStatus(HttpStatus.OK)
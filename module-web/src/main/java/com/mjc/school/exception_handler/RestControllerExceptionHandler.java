@@ -2,8 +2,10 @@ package com.mjc.school.exception_handler;
 
 import com.mjc.school.service.exception.AlreadyExistException;
 import com.mjc.school.service.exception.ErrorCode;
+import com.mjc.school.service.exception.InvalidRequestException;
 import com.mjc.school.service.exception.NotFoundException;
 import com.mjc.school.service.exception.PatchApplyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -45,6 +47,21 @@ public class RestControllerExceptionHandler extends ResponseEntityExceptionHandl
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(value = InvalidRequestException.class)
+    protected ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(ex.getErrorCode(), ex.getErrorMessage(), ex.getMessage());
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    protected ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse(ErrorCode.CONCURRENT_MODIFICATION.getId(),
+                ErrorCode.CONCURRENT_MODIFICATION.getMessage(), ex.getMessage());
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(value = Exception.class)
     protected ResponseEntity<Object> handleUnexpectedExceptions(RuntimeException ex, WebRequest request) {
         ErrorResponse error = new ErrorResponse(ErrorCode.UNEXPECTED_SERVER_PROBLEM.getId(),
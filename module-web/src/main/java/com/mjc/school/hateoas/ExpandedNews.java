@@ -0,0 +1,15 @@
+package com.mjc.school.hateoas;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.mjc.school.service.dto.NewsDtoResponse;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.Map;
+
+@Relation(itemRelation = "newsDtoResponse", collectionRelation = "newsDtoResponseList")
+public record ExpandedNews(
+        @JsonUnwrapped NewsDtoResponse news,
+        @JsonProperty("_embedded") @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, Object> embedded) {
+}
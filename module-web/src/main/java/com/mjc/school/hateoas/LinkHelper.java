@@ -1,51 +1,155 @@
 package com.mjc.school.hateoas;
 
-import com.mjc.school.controller.impl.AuthorRestController;
-import com.mjc.school.controller.impl.CommentRestController;
-import com.mjc.school.controller.impl.NewsRestController;
-import com.mjc.school.controller.impl.TagRestController;
 import com.mjc.school.service.dto.*;
-import org.springframework.hateoas.EntityModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mjc.school.constant.ApiConstant.*;
 
 public class LinkHelper {
 
+    private static final String BASE_URI_ATTRIBUTE = LinkHelper.class.getName() + ".BASE_URI";
+
+    private static final UriTemplate NEWS_URI = resourceTemplate(NEWS_BASE_URI, "");
+    private static final UriTemplate NEWS_AUTHOR_URI = resourceTemplate(NEWS_BASE_URI, AUTHORS_BASE_URI);
+    private static final UriTemplate NEWS_TAGS_URI = resourceTemplate(NEWS_BASE_URI, TAGS_BASE_URI);
+    private static final UriTemplate NEWS_COMMENTS_URI = resourceTemplate(NEWS_BASE_URI, COMMENTS_BASE_URI);
+    private static final UriTemplate AUTHOR_URI = resourceTemplate(AUTHORS_BASE_URI, "");
+    private static final UriTemplate AUTHOR_DELETION_JOB_URI = resourceTemplate(AUTHORS_BASE_URI + DELETION_JOBS_URI, "");
+    private static final UriTemplate TAG_URI = resourceTemplate(TAGS_BASE_URI, "");
+    private static final UriTemplate COMMENT_URI = resourceTemplate(COMMENTS_BASE_URI, "");
+
     private LinkHelper() {
     }
 
     public static void addLinksToComment(EntityModel<CommentDtoResponse> commentModel) {
         CommentDtoResponse content = commentModel.getContent();
         if (content == null) return;
-        commentModel.add(linkTo(methodOn(CommentRestController.class).getById(content.id())).withSelfRel());
-        commentModel.add(linkTo(methodOn(NewsRestController.class).getById(content.newsId())).withRel("news"));
+        commentModel.add(link(COMMENT_URI, content.id(), IanaLinkRelations.SELF));
+        commentModel.add(link(NEWS_URI, content.newsId(), LinkRelation.of("news")));
     }
 
     public static void addLinksToAuthor(EntityModel<AuthorDtoResponse> authorModel) {
         AuthorDtoResponse content = authorModel.getContent();
         if (content == null) return;
-        authorModel.add(linkTo(methodOn(AuthorRestController.class).getById(content.id())).withSelfRel());
+        authorModel.add(link(AUTHOR_URI, content.id(), IanaLinkRelations.SELF));
     }
 
     public static void addLinksToAuthorWithNewsAmount(EntityModel<AuthorWithNewsResponse> authorModel) {
         AuthorWithNewsResponse content = authorModel.getContent();
         if (content == null) return;
-        authorModel.add(linkTo(methodOn(AuthorRestController.class).getById(content.id())).withSelfRel());
+        authorModel.add(link(AUTHOR_URI, content.id(), IanaLinkRelations.SELF));
+    }
+
+    public static void addLinksToAuthorDeletionJob(EntityModel<AuthorDeletionJobResponse> jobModel) {
+        AuthorDeletionJobResponse content = jobModel.getContent();
+        if (content == null) return;
+        jobModel.add(link(AUTHOR_DELETION_JOB_URI, content.id(), IanaLinkRelations.SELF));
+        jobModel.add(link(AUTHOR_URI, content.authorId(), LinkRelation.of("author")));
     }
 
     public static void addLinksToTag(EntityModel<TagDtoResponse> tagModel) {
         TagDtoResponse content = tagModel.getContent();
         if (content == null) return;
-        tagModel.add(linkTo(methodOn(TagRestController.class).getById(content.id())).withSelfRel());
+        tagModel.add(link(TAG_URI, content.id(), IanaLinkRelations.SELF));
     }
 
     public static void addLinksToNews(EntityModel<NewsDtoResponse> newsModel) {
         NewsDtoResponse content = newsModel.getContent();
         if (content == null) return;
-        newsModel.add(linkTo(methodOn(NewsRestController.class).getById(content.id())).withSelfRel());
-        newsModel.add(linkTo(methodOn(NewsRestController.class).getAuthorByNewsId(content.id())).withRel("author"));
-        newsModel.add(linkTo(methodOn(NewsRestController.class).getTagsByNewsId(content.id())).withRel("tags"));
-        newsModel.add(linkTo(methodOn(NewsRestController.class).getCommentsByNewsId(content.id())).withRel("comments"));
+        addNewsLinks(newsModel, content.id());
+    }
+
+    public static void addLinksToExpandedNews(EntityModel<ExpandedNews> newsModel) {
+        ExpandedNews content = newsModel.getContent();
+        if (content == null) return;
+        addNewsLinks(newsModel, content.news().id());
+    }
+
+    public static ExpandedNews toExpandedNews(ExpandedNewsResponse response) {
+        Map<String, Object> embedded = new LinkedHashMap<>();
+        if (response.author() != null) {
+            EntityModel<AuthorDtoResponse> authorModel = EntityModel.of(response.author());
+            addLinksToAuthor(authorModel);
+            embedded.put("author", authorModel);
+        }
+        if (response.tags() != null) {
+            List<EntityModel<TagDtoResponse>> tagModels = response.tags().stream().map(EntityModel::of).toList();
+            tagModels.forEach(LinkHelper::addLinksToTag);
+            embedded.put("tags", tagModels);
+        }
+        if (response.comments() != null) {
+            List<EntityModel<CommentDtoResponse>> commentModels = response.comments().stream().map(EntityModel::of).toList();
+            commentModels.forEach(LinkHelper::addLinksToComment);
+            embedded.put("comments", commentModels);
+        }
+        return new ExpandedNews(response.news(), embedded);
+    }
+
+    private static void addNewsLinks(RepresentationModel<?> newsModel, Long id) {
+        newsModel.add(link(NEWS_URI, id, IanaLinkRelations.SELF));
+        newsModel.add(link(NEWS_AUTHOR_URI, id, LinkRelation.of("author")));
+        newsModel.add(link(NEWS_TAGS_URI, id, LinkRelation.of("tags")));
+        newsModel.add(link(NEWS_COMMENTS_URI, id, LinkRelation.of("comments")));
+    }
+
+    private static UriTemplate resourceTemplate(String resourceUri, String relationUri) {
+        return new UriTemplate(API_BASE_URI + "/v1" + resourceUri + "/{id}" + relationUri);
+    }
+
+    private static Link link(UriTemplate template, Object id, LinkRelation relation) {
+        return Link.of(currentBaseUri() + template.expand(id), relation);
+    }
+
+    private static String currentBaseUri() {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    public static void addCursorLinks(RepresentationModel<?> model, String nextCursor) {
+        model.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", nextCursor)
+                    .toUriString();
+            model.add(Link.of(next, IanaLinkRelations.NEXT));
+        }
+    }
+
+    public static <T> PagedModel<EntityModel<T>> toPagedModel(Slice<T> slice, PagedResourcesAssembler<T> pageAssembler) {
+        if (slice instanceof Page<T> page) {
+            return pageAssembler.toModel(page);
+        }
+        List<EntityModel<T>> models = slice.getContent().stream().map(EntityModel::of).toList();
+        PagedModel<EntityModel<T>> modelPage = PagedModel.of(models, (PagedModel.PageMetadata) null);
+        modelPage.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (slice.hasPrevious()) {
+            modelPage.add(Link.of(pageUri(slice.getNumber() - 1), IanaLinkRelations.PREV));
+        }
+        if (slice.hasNext()) {
+            modelPage.add(Link.of(pageUri(slice.getNumber() + 1), IanaLinkRelations.NEXT));
+        }
+        return modelPage;
+    }
+
+    private static String pageUri(int page) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", page)
+                .toUriString();
     }
 }
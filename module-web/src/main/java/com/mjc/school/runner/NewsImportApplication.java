@@ -0,0 +1,22 @@
+package com.mjc.school.runner;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ConditionalOnNotWebApplication
+@ComponentScan(basePackages = {"com.mjc.school.repository", "com.mjc.school.service", "com.mjc.school.runner"})
+public class NewsImportApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(new SpringApplicationBuilder(NewsImportApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)));
+    }
+}
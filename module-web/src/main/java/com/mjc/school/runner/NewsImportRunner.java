@@ -0,0 +1,70 @@
+package com.mjc.school.runner;
+
+import com.mjc.school.service.NewsImportService;
+import com.mjc.school.service.dto.ImportReport;
+import com.mjc.school.service.query.ImportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnNotWebApplication
+@ConditionalOnProperty(prefix = "news.import", name = "file")
+public class NewsImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final int EXIT_STOPPED_EARLY = 1;
+    public static final int EXIT_RECORDS_REJECTED = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NewsImportRunner.class);
+
+    private final NewsImportService newsImportService;
+    private final Path file;
+    private final long offset;
+    private int exitCode;
+
+    @Autowired
+    public NewsImportRunner(NewsImportService newsImportService,
+                            @Value("${news.import.file}") Path file,
+                            @Value("${news.import.offset:0}") long offset) {
+        this.newsImportService = newsImportService;
+        this.file = file;
+        this.offset = offset;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ImportFormat format = file.getFileName().toString().toLowerCase().endsWith(".csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            ImportReport report = newsImportService.importNews(input, format, offset);
+            LOGGER.info("Imported {} of {} records from {} in {} ms ({} records/s), rejected {}, resume offset {}",
+                    report.imported(), report.processed(), file, report.elapsedMillis(),
+                    String.format("%.1f", report.recordsPerSecond()), report.rejected(), report.resumeOffset());
+            report.rejections().forEach(rejection -> LOGGER.warn("Rejected record {}: {} {}",
+                    rejection.record(), rejection.errorMessage(), rejection.details()));
+            if (report.failure() != null) {
+                LOGGER.error("Import stopped early, rerun with --news.import.offset={}: {}", report.resumeOffset(), report.failure());
+                exitCode = EXIT_STOPPED_EARLY;
+            } else if (report.rejected() > 0) {
+                exitCode = EXIT_RECORDS_REJECTED;
+            }
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -118,5 +118,63 @@ public class AuthorControllerTest extends BaseControllerTest {
                 .then().log().all()
                 .statusCode(404);
     }
-}
 
+    @Test
+    public void successfulGetWithNewsAmountByCursorTest() {
+        String nextLink = given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/authors/with-news-amount?cursor=&size=1")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.authorWithNewsResponseList.id", contains(2))
+                .body("_embedded.authorWithNewsResponseList.newsAmount", contains(1))
+                .body("_links.next.href", notNullValue())
+                .extract().path("_links.next.href");
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get(nextLink)
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.authorWithNewsResponseList.id", contains(1))
+                .body("_links.next", nullValue());
+    }
+
+    @Test
+    public void successfulDeleteByIdAsyncTest() throws InterruptedException {
+        final int id = 2;
+        int jobId = given()
+                .when()
+                .delete("/api/v1/authors/" + id + "?async=true")
+                .then().log().all()
+                .statusCode(202)
+                .body("authorId", equalTo(id))
+                .body("totalNews", equalTo(1))
+                .body("_links.self.href", notNullValue())
+                .extract().path("id");
+
+        given().when().get("/api/v1/authors/" + id).then().statusCode(404);
+
+        String status = "PENDING";
+        for (int attempt = 0; attempt < 50 && !status.equals("COMPLETED"); attempt++) {
+            Thread.sleep(100);
+            status = given()
+                    .when()
+                    .get("/api/v1/authors/deletion-jobs/" + jobId)
+                    .then().log().all()
+                    .statusCode(200)
+                    .extract().path("status");
+        }
+
+        given()
+                .when()
+                .get("/api/v1/authors/deletion-jobs/" + jobId)
+                .then().log().all()
+                .statusCode(200)
+                .body("status", equalTo("COMPLETED"))
+                .body("purgedNews", equalTo(1));
+        given().when().get("/api/v1/news/2").then().statusCode(404);
+    }
+}
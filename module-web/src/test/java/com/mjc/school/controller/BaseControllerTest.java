@@ -2,6 +2,7 @@ package com.mjc.school.controller;
 
 import io.restassured.RestAssured;
 import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,8 +10,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.persistence.EntityManagerFactory;
+
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -22,6 +26,12 @@ public abstract class BaseControllerTest {
     @Autowired
     private Flyway flyway;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @AfterAll
     public static void clean(@Autowired Flyway flyway) {
         flyway.clean();
@@ -32,5 +42,7 @@ public abstract class BaseControllerTest {
         RestAssured.baseURI = "http://localhost:" + port;
         flyway.clean();
         flyway.migrate();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 }
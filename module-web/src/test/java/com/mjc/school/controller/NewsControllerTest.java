@@ -1,16 +1,28 @@
 package com.mjc.school.controller;
 
+import com.mjc.school.service.dto.CommentDtoRequest;
 import com.mjc.school.service.dto.NewsDtoRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 public class NewsControllerTest extends BaseControllerTest {
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     public void successfulCreateTest() {
         final String title = "Atomic Heart";
@@ -83,6 +95,415 @@ public class NewsControllerTest extends BaseControllerTest {
                 .body("_embedded.newsDtoResponseList.title", hasItems("Weather in Minsk", "CS:GO 2"));
     }
 
+    @Test
+    public void getByIdAfterDeleteIsNotServedFromCacheTest() {
+        final int id = 1;
+        given().when().get("/api/v1/news/" + id).then().statusCode(200);
+        given().when().delete("/api/v1/news/" + id).then().statusCode(204);
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(404);
+    }
+
+    @Test
+    public void successfulGetByIdWithExpandTest() {
+        final int id = 1;
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news/" + id + "?expand=author,tags,comments")
+                .then().log().all()
+                .statusCode(200)
+                .body("id", equalTo(id))
+                .body("_embedded.author.name", equalTo("Ivan Testov"))
+                .body("_embedded.tags.name", contains("weather"))
+                .body("_embedded.comments.content", contains("It's actually warm today"))
+                .body("_links.self.href", notNullValue());
+    }
+
+    @Test
+    public void successfulGetAllWithExpandTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?expand=author&sort=id,asc")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(1, 2))
+                .body("_embedded.newsDtoResponseList._embedded.author.name", contains("Ivan Testov", "Petya Fomin"))
+                .body("_embedded.newsDtoResponseList[0]._embedded.tags", nullValue());
+    }
+
+    @Test
+    public void getAllExecutesBoundedNumberOfStatementsTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news")
+                .then()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList", hasSize(2));
+
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+
+        statistics.clear();
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?expand=author,tags")
+                .then()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList", hasSize(2));
+
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(4L));
+    }
+
+    @Test
+    public void unsuccessfulGetByIdWithUnknownExpandTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news/1?expand=likes")
+                .then().log().all()
+                .statusCode(400);
+    }
+
+    @Test
+    public void getByIdWithMatchingETagIsNotModifiedTest() {
+        final int id = 1;
+        String etag = given()
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(200)
+                .header("ETag", equalTo("\"1-0-1\""))
+                .header("Last-Modified", nullValue())
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(304)
+                .body(emptyString());
+    }
+
+    @Test
+    public void getByIdAfterCommentDeleteIsModifiedTest() {
+        final int id = 1;
+        String etag = given()
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        given().when().delete("/api/v1/comments/1").then().statusCode(204);
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(200)
+                .header("ETag", equalTo("\"1-0-0\""))
+                .body("commentCount", equalTo(0));
+    }
+
+    @Test
+    public void getByIdWithIfModifiedSinceAfterCommentCreateIsModifiedTest() {
+        final int id = 1;
+        final String ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1));
+
+        given()
+                .contentType("application/json")
+                .body(new CommentDtoRequest("It's snowing now", (long) id))
+                .when()
+                .post("/api/v1/comments")
+                .then()
+                .statusCode(201);
+
+        given()
+                .header("If-Modified-Since", ifModifiedSince)
+                .when()
+                .get("/api/v1/news/" + id)
+                .then().log().all()
+                .statusCode(200)
+                .header("Last-Modified", nullValue())
+                .body("commentCount", equalTo(2));
+    }
+
+    @Test
+    public void successfulExportTest() {
+        String body = given()
+                .when()
+                .get("/api/v1/news/export")
+                .then().log().all()
+                .statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .extract().asString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines, hasSize(2));
+        assertThat(lines.get(0), containsString("\"title\":\"Weather in Minsk\""));
+        assertThat(lines.get(1), containsString("\"title\":\"CS:GO 2\""));
+    }
+
+    @Test
+    public void exportAcrossFlushBoundaryTest() {
+        final int records = 501;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            body.append("""
+                    {"title":"Exported news %d","content":"Bulk exported content","authorName":"Bulk Author","tagNames":["bulk"]}
+                    """.formatted(i));
+        }
+        given()
+                .contentType("application/x-ndjson")
+                .body(body.toString())
+                .when()
+                .post("/api/v1/news:import")
+                .then()
+                .statusCode(200)
+                .body("imported", equalTo(records));
+
+        String export = given()
+                .when()
+                .get("/api/v1/news/export")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        List<String> lines = export.lines().toList();
+        assertThat(lines, hasSize(records + 2));
+        assertThat(lines, everyItem(startsWith("{")));
+        assertThat(lines.get(records + 1), containsString("\"title\":\"Exported news 500\""));
+    }
+
+    @Test
+    public void importReportsRejectedRecordsTest() {
+        final String body = """
+                {"title":"Weather in Minsk","content":"Same title again","authorName":"Ivan Testov","tagNames":["weather"]}
+                not a json record
+                """;
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post("/api/v1/news:import")
+                .then().log().all()
+                .statusCode(200)
+                .body("processed", equalTo(2))
+                .body("imported", equalTo(0))
+                .body("rejected", equalTo(2))
+                .body("resumeOffset", equalTo(2))
+                .body("rejections.record", contains(0, 1))
+                .body("rejections.errorCode", contains(1041, 1056));
+    }
+
+    @Test
+    public void successfulImportTest() {
+        final String body = """
+                {"title":"Snow in Grodno","content":"First snow this year","authorName":"Ivan Testov","tagNames":["weather"]}
+                {"title":"New CS:GO map","content":"A new map is out","authorName":"Oleg Novikov","tagNames":["games","esports"]}
+                """;
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post("/api/v1/news:import")
+                .then().log().all()
+                .statusCode(200)
+                .body("processed", equalTo(2))
+                .body("imported", equalTo(2))
+                .body("rejected", equalTo(0))
+                .body("resumeOffset", equalTo(2))
+                .body("failure", nullValue())
+                .body("rejections", empty());
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?title=New CS:GO map&expand=author,tags")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList._embedded.author.name", contains("Oleg Novikov"))
+                .body("_embedded.newsDtoResponseList[0]._embedded.tags.name", containsInAnyOrder("games", "esports"));
+    }
+
+    @Test
+    public void successfulCsvImportWithSemicolonSeparatedTagsTest() {
+        final String body = """
+                title,content,authorName,tagNames
+                Snow in Grodno,First snow this year,Ivan Testov,weather;winter
+                """;
+        given()
+                .contentType("text/csv")
+                .body(body)
+                .when()
+                .post("/api/v1/news:import")
+                .then().log().all()
+                .statusCode(200)
+                .body("processed", equalTo(1))
+                .body("imported", equalTo(1))
+                .body("rejected", equalTo(0))
+                .body("resumeOffset", equalTo(1));
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?title=Snow in Grodno&expand=tags")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList[0]._embedded.tags.name", containsInAnyOrder("weather", "winter"));
+    }
+
+    @Test
+    public void importResumesFromOffsetTest() {
+        final String body = """
+                not a json record
+                {"title":"Snow in Grodno","content":"First snow this year","authorName":"Ivan Testov","tagNames":["weather"]}
+                {"title":"New CS:GO map","content":"A new map is out","authorName":"Petya Fomin","tagNames":["games"]}
+                """;
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post("/api/v1/news:import?offset=1")
+                .then().log().all()
+                .statusCode(200)
+                .body("processed", equalTo(2))
+                .body("imported", equalTo(2))
+                .body("rejected", equalTo(0))
+                .body("resumeOffset", equalTo(3));
+    }
+
+    @Test
+    public void importAcrossChunkBoundaryTest() {
+        final int records = 501;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            // the last record lands in the second chunk and repeats a title committed with the first one
+            body.append("""
+                    {"title":"Imported news %d","content":"Bulk imported content","authorName":"Bulk Author","tagNames":["bulk"]}
+                    """.formatted(i == records - 1 ? 0 : i));
+        }
+        given()
+                .contentType("application/x-ndjson")
+                .body(body.toString())
+                .when()
+                .post("/api/v1/news:import")
+                .then().log().all()
+                .statusCode(200)
+                .body("processed", equalTo(records))
+                .body("imported", equalTo(records - 1))
+                .body("rejected", equalTo(1))
+                .body("resumeOffset", equalTo(records))
+                .body("rejections.record", contains(records - 1))
+                .body("rejections.errorCode", contains(1041));
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?title=Imported news")
+                .then()
+                .statusCode(200)
+                .body("page.totalElements", equalTo(records - 1));
+    }
+
+    @Test
+    public void successfulGetAllByCursorTest() {
+        String nextLink = given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?cursor=&size=1")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(2))
+                .body("_links.next.href", notNullValue())
+                .extract().path("_links.next.href");
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get(nextLink)
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(1));
+    }
+
+    @Test
+    public void successfulGetAllByCursorWithExpandTest() {
+        String nextLink = given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?cursor=&size=1&expand=author")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(2))
+                .body("_embedded.newsDtoResponseList._embedded.author.name", contains("Petya Fomin"))
+                .body("_links.next.href", notNullValue())
+                .extract().path("_links.next.href");
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get(nextLink)
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList._embedded.author.name", contains("Ivan Testov"));
+    }
+
+    @Test
+    public void unsuccessfulGetAllByCursorWithUnknownExpandTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?cursor=&expand=likes")
+                .then().log().all()
+                .statusCode(400);
+    }
+
+    @Test
+    public void unsuccessfulGetAllByMalformedCursorTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?cursor=not-a-cursor")
+                .then().log().all()
+                .statusCode(400);
+    }
+
+    @Test
+    public void successfulSearchTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news/search?query=counter strike")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(2));
+    }
+
+    @Test
+    public void unsuccessfulSearchWithBlankQueryTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news/search?query= ")
+                .then().log().all()
+                .statusCode(400);
+    }
+
     @Test
     public void successfulUpdateTest() {
         final long id = 1;
@@ -121,5 +542,38 @@ public class NewsControllerTest extends BaseControllerTest {
                 .then().log().all()
                 .statusCode(404);
     }
-}
 
+    @Test
+    public void getAllSortedByCommentCountTest() {
+        given().when().delete("/api/v1/comments/1").then().statusCode(204);
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?sort=commentCount,desc")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(2, 1))
+                .body("_embedded.newsDtoResponseList.commentCount", contains(1, 0));
+    }
+
+    @Test
+    public void getAllWithTagMatchTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?tagIds=1,2&tagMatch=ANY&sort=id,asc")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.newsDtoResponseList.id", contains(1, 2));
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/news?tagIds=1,2&tagMatch=ALL")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded", nullValue())
+                .body("page.totalElements", equalTo(0));
+    }
+}
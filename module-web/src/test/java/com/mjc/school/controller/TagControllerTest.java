@@ -3,9 +3,10 @@ package com.mjc.school.controller;
 import com.mjc.school.service.dto.TagDtoRequest;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.equalTo;
-import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.*;
 
 public class TagControllerTest extends BaseControllerTest {
 
@@ -36,6 +37,19 @@ public class TagControllerTest extends BaseControllerTest {
                 .statusCode(400);
     }
 
+    @Test
+    public void createAllReportsFailedItemsTest() {
+        given()
+                .contentType("application/json")
+                .body(List.of(new TagDtoRequest("WEATHER"), new TagDtoRequest("Invalid tag name value")))
+                .when()
+                .post("/api/v1/tags:batch")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.batchItemResultList.index", contains(0, 1))
+                .body("_embedded.batchItemResultList.errorCode", contains(1043, 1020));
+    }
+
     @Test
     public void successfulGetByIdTest() {
         final int id = 1;
@@ -73,6 +87,19 @@ public class TagControllerTest extends BaseControllerTest {
                 .body("_embedded.tagDtoResponseList.name", hasItems("weather", "games"));
     }
 
+    @Test
+    public void successfulGetAllWithoutCountTest() {
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/tags?count=SKIP&size=1")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.tagDtoResponseList", hasSize(1))
+                .body("page", nullValue())
+                .body("_links.next.href", notNullValue());
+    }
+
     @Test
     public void successfulUpdateTest() {
         final long id = 1;
@@ -111,5 +138,18 @@ public class TagControllerTest extends BaseControllerTest {
                 .then().log().all()
                 .statusCode(404);
     }
-}
 
+    @Test
+    public void getAllSortedByNewsCountTest() {
+        given().when().delete("/api/v1/news/1").then().statusCode(204);
+
+        given()
+                .contentType("application/json")
+                .when()
+                .get("/api/v1/tags?sort=newsCount,desc")
+                .then().log().all()
+                .statusCode(200)
+                .body("_embedded.tagDtoResponseList.id", contains(2, 1))
+                .body("_embedded.tagDtoResponseList.newsCount", contains(1, 0));
+    }
+}
@@ -0,0 +1,90 @@
+package com.mjc.school.runner;
+
+import com.mjc.school.service.NewsImportService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(classes = NewsImportApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class NewsImportRunnerTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private NewsImportService newsImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @TempDir
+    private Path directory;
+
+    @AfterAll
+    public static void clean(@Autowired Flyway flyway) {
+        flyway.clean();
+    }
+
+    @BeforeEach
+    public void setup() {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void startsWithoutWebLayerTest() {
+        assertThat(context.getBeanNamesForType(DispatcherServlet.class), emptyArray());
+        assertThat(context.getBeanNamesForType(NewsImportRunner.class), emptyArray());
+    }
+
+    @Test
+    public void successfulImportExitsWithZeroTest() throws IOException {
+        Path file = Files.writeString(directory.resolve("news.csv"), """
+                title,content,authorName,tagNames
+                Snow in Grodno,First snow this year,Ivan Testov,weather;winter
+                New CS:GO map,A new map is out,Oleg Novikov,games
+                """);
+        NewsImportRunner runner = new NewsImportRunner(newsImportService, file, 0);
+
+        runner.run(null);
+
+        assertThat(runner.getExitCode(), equalTo(0));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM news", Long.class), equalTo(4L));
+    }
+
+    @Test
+    public void rejectedRecordsExitWithNonZeroCodeTest() throws IOException {
+        Path file = Files.writeString(directory.resolve("news.ndjson"), """
+                {"title":"Weather in Minsk","content":"Same title again","authorName":"Ivan Testov","tagNames":["weather"]}
+                {"title":"Snow in Grodno","content":"First snow this year","authorName":"Ivan Testov","tagNames":["weather"]}
+                """);
+        NewsImportRunner runner = new NewsImportRunner(newsImportService, file, 0);
+
+        runner.run(null);
+
+        assertThat(runner.getExitCode(), equalTo(NewsImportRunner.EXIT_RECORDS_REJECTED));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM news", Long.class), equalTo(3L));
+    }
+}